@@ -0,0 +1,267 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.Message;
+import org.apache.hc.core5.http.nio.AsyncRequestProducer;
+import org.apache.hc.core5.http.nio.entity.AsyncEntityProducers;
+import org.apache.hc.core5.http.nio.entity.DiscardingEntityConsumer;
+import org.apache.hc.core5.http.nio.support.AsyncRequestBuilder;
+import org.apache.hc.core5.http.nio.support.BasicResponseConsumer;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link AsyncFeignHttpClient} on top of Apache {@link CloseableHttpAsyncClient}. Connect and read timeouts of
+ * {@link Request.Options} are applied per request, response bodies are streamed by {@link ApacheResponseConsumer}.
+ */
+public final class ApacheAsyncFeignHttpClient implements AsyncFeignHttpClient, Closeable {
+
+    /**
+     * Headers generated by the client from the request entity, it refuses requests defining them.
+     */
+    private static final Set<String> ENTITY_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        ENTITY_HEADERS.add(HttpHeaders.CONTENT_LENGTH);
+        ENTITY_HEADERS.add(HttpHeaders.TRANSFER_ENCODING);
+    }
+
+    private final CloseableHttpAsyncClient httpClient;
+    private final boolean ownsHttpClient;
+
+    /**
+     * @param httpClient started client, it isn't closed by {@link #close()}
+     */
+    public ApacheAsyncFeignHttpClient(final CloseableHttpAsyncClient httpClient) {
+        this(httpClient, false);
+    }
+
+    private ApacheAsyncFeignHttpClient(final CloseableHttpAsyncClient httpClient, final boolean ownsHttpClient) {
+        if (httpClient == null)
+            throw new IllegalArgumentException("Apache 'CloseableHttpAsyncClient' instance must not be null");
+        this.httpClient = httpClient;
+        this.ownsHttpClient = ownsHttpClient;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(final Request request, final Request.Options options) {
+        return execute(request, options, HttpExchangeListener.NOOP);
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(final Request request, final Request.Options options,
+                                               final HttpExchangeListener listener) {
+        return execute(request, null, ResponseBodyHandling.AGGREGATE, options, listener);
+    }
+
+    /**
+     * Body written by {@code body} is buffered into an array, response body handling is applied by
+     * {@link ApacheResponseConsumer} while the body is received.
+     */
+    @Override
+    public CompletableFuture<Response> execute(final Request request, final RequestBodyWriter body,
+                                               final ResponseBodyHandling bodyHandling, final Request.Options options,
+                                               final HttpExchangeListener listener) {
+        final CompletableFuture<Response> feignResponse = new CompletableFuture<>();
+        final Request bufferedRequest;
+        try {
+            bufferedRequest = body != null ? withBody(request, body) : request;
+        } catch (IOException | RuntimeException ex) {
+            feignResponse.completeExceptionally(ex);
+            return feignResponse;
+        }
+        final HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(RequestConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(options.connectTimeoutMillis()))
+                .setResponseTimeout(Timeout.ofMilliseconds(options.readTimeoutMillis()))
+                .setRedirectsEnabled(options.isFollowRedirects())
+                .build());
+
+        listener.onStart();
+        httpClient.execute(toRequestProducer(bufferedRequest),
+                new ApacheResponseConsumer(bufferedRequest, bodyHandling, listener), context,
+                new FutureCallback<Response>() {
+                    @Override
+                    public void completed(final Response response) {
+                        feignResponse.complete(response);
+                    }
+
+                    @Override
+                    public void failed(final Exception ex) {
+                        feignResponse.completeExceptionally(ex);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        feignResponse.cancel(false);
+                    }
+                });
+        return feignResponse;
+    }
+
+    /**
+     * Sends {@code connections} concurrent {@code HEAD} requests to {@code url}, HTTP/2 connections are multiplexed
+     * so fewer connections may be established.
+     */
+    @Override
+    public CompletableFuture<Void> warmUp(final String url, final int connections) {
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[connections];
+        for (int i = 0; i < connections; i++) {
+            final CompletableFuture<Void> connected = new CompletableFuture<>();
+            httpClient.execute(AsyncRequestBuilder.head(URI.create(url)).build(),
+                    new BasicResponseConsumer<>(new DiscardingEntityConsumer<>()),
+                    new FutureCallback<Message<HttpResponse, Void>>() {
+                        @Override
+                        public void completed(final Message<HttpResponse, Void> result) {
+                            connected.complete(null);
+                        }
+
+                        @Override
+                        public void failed(final Exception ex) {
+                            connected.completeExceptionally(ex);
+                        }
+
+                        @Override
+                        public void cancelled() {
+                            connected.cancel(false);
+                        }
+                    });
+            futures[i] = connected;
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Closes the client if it was created by {@link Builder}.
+     */
+    @Override
+    public void close() {
+        if (ownsHttpClient) {
+            httpClient.close(CloseMode.GRACEFUL);
+        }
+    }
+
+    private static Request withBody(final Request request, final RequestBodyWriter body) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return Request.create(request.httpMethod(), request.url(), request.headers(), out.toByteArray(),
+                request.charset());
+    }
+
+    private AsyncRequestProducer toRequestProducer(final Request request) {
+        final AsyncRequestBuilder builder = AsyncRequestBuilder.create(request.httpMethod().name())
+                .setUri(URI.create(request.url()));
+        ContentType contentType = null;
+        for (final Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+            if (ENTITY_HEADERS.contains(header.getKey())) {
+                continue;
+            }
+            for (final String value : header.getValue()) {
+                if (contentType == null && HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(header.getKey())) {
+                    contentType = ContentType.parse(value);
+                }
+                builder.addHeader(header.getKey(), value);
+            }
+        }
+        final byte[] body = request.requestBody().asBytes();
+        if (body != null && body.length > 0) {
+            // the array is wrapped, not copied
+            builder.setEntity(AsyncEntityProducers.create(body,
+                    contentType != null ? contentType : ContentType.APPLICATION_OCTET_STREAM));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates and starts a client owned by {@link ApacheAsyncFeignHttpClient}.
+     */
+    public static final class Builder {
+        private int maxConnTotal = 100;
+        private int maxConnPerRoute = 20;
+        private HttpVersionPolicy versionPolicy = HttpVersionPolicy.NEGOTIATE;
+
+        private Builder() {
+        }
+
+        /**
+         * @param maxConnTotal maximum number of pooled connections, 100 by default
+         */
+        public Builder maxConnTotal(final int maxConnTotal) {
+            this.maxConnTotal = maxConnTotal;
+            return this;
+        }
+
+        /**
+         * @param maxConnPerRoute maximum number of pooled connections per host, 20 by default
+         */
+        public Builder maxConnPerRoute(final int maxConnPerRoute) {
+            this.maxConnPerRoute = maxConnPerRoute;
+            return this;
+        }
+
+        /**
+         * @param versionPolicy {@link HttpVersionPolicy#NEGOTIATE} (default) uses HTTP/2 when negotiated by TLS ALPN,
+         *                      {@link HttpVersionPolicy#FORCE_HTTP_2} multiplexes requests over a single
+         *                      connection per host also without TLS
+         */
+        public Builder versionPolicy(final HttpVersionPolicy versionPolicy) {
+            this.versionPolicy = versionPolicy;
+            return this;
+        }
+
+        public ApacheAsyncFeignHttpClient build() {
+            final CloseableHttpAsyncClient httpClient = HttpAsyncClients.custom()
+                    .setVersionPolicy(versionPolicy)
+                    .setConnectionManager(PoolingAsyncClientConnectionManagerBuilder.create()
+                            .setMaxConnTotal(maxConnTotal)
+                            .setMaxConnPerRoute(maxConnPerRoute)
+                            .build())
+                    .build();
+            httpClient.start();
+            return new ApacheAsyncFeignHttpClient(httpClient, true);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams response body from I/O reactor buffers into a single array sized by {@code Content-Length} when it's known
+ * and builds {@link Response} without intermediate copies. {@link ResponseBodyHandling} is applied while the body is
+ * received: discarded bodies aren't stored and the exchange fails as soon as an aggregated body exceeds its limit.
+ */
+final class ApacheResponseConsumer implements AsyncResponseConsumer<Response> {
+    private static final byte[] EMPTY_BODY = new byte[0];
+    private static final int INITIAL_CAPACITY = 1024;
+    /**
+     * Bounds the array allocated upfront for a declared {@code Content-Length}, the array grows as bytes arrive.
+     */
+    private static final int MAX_INITIAL_CAPACITY = 64 * 1024;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private final Request request;
+    private final ResponseBodyHandling bodyHandling;
+    private final HttpExchangeListener listener;
+    private HttpResponse response;
+    private FutureCallback<Response> resultCallback;
+    private boolean discarded;
+    private byte[] body;
+    private long length;
+
+    ApacheResponseConsumer(final Request request, final ResponseBodyHandling bodyHandling,
+                           final HttpExchangeListener listener) {
+        this.request = request;
+        this.bodyHandling = bodyHandling;
+        this.listener = listener;
+    }
+
+    @Override
+    public void consumeResponse(final HttpResponse response, final EntityDetails entityDetails, final HttpContext context,
+                                final FutureCallback<Response> resultCallback) throws IOException {
+        this.response = response;
+        this.resultCallback = resultCallback;
+        listener.onResponseHeaders(response.getCode());
+        if (entityDetails == null) {
+            complete();
+            return;
+        }
+        discarded = bodyHandling.isDiscarded(response.getCode());
+        if (discarded) {
+            return;
+        }
+        final long contentLength = entityDetails.getContentLength();
+        if (contentLength >= 0) {
+            bodyHandling.checkSize(contentLength);
+        }
+        body = new byte[contentLength >= 0 ? (int) Math.min(contentLength, MAX_INITIAL_CAPACITY) : INITIAL_CAPACITY];
+    }
+
+    @Override
+    public void informationResponse(final HttpResponse response, final HttpContext context) {
+    }
+
+    @Override
+    public void updateCapacity(final CapacityChannel capacityChannel) throws IOException {
+        // the whole body is buffered anyway
+        capacityChannel.update(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void consume(final ByteBuffer src) throws IOException {
+        final int remaining = src.remaining();
+        final long required = length + remaining;
+        if (discarded) {
+            src.position(src.limit());
+            length = required;
+            return;
+        }
+        bodyHandling.checkSize(required);
+        if (required > body.length) {
+            if (required > MAX_ARRAY_SIZE) {
+                throw new ResponseBodyTooLargeException(MAX_ARRAY_SIZE);
+            }
+            body = Arrays.copyOf(body, (int) Math.min(Math.max((long) body.length << 1, required), MAX_ARRAY_SIZE));
+        }
+        src.get(body, (int) length, remaining);
+        length = required;
+    }
+
+    @Override
+    public void streamEnd(final List<? extends Header> trailers) {
+        complete();
+    }
+
+    @Override
+    public void failed(final Exception cause) {
+        // failure is reported to the callback of the exchange by the client
+        releaseResources();
+    }
+
+    @Override
+    public void releaseResources() {
+        body = null;
+        length = 0;
+    }
+
+    private void complete() {
+        final byte[] bytes = body == null || length == 0 ? EMPTY_BODY
+                : length == body.length ? body : Arrays.copyOf(body, (int) length);
+        listener.onResponseBody(length);
+        final Response feignResponse = Response.builder()
+                .request(request)
+                .status(response.getCode())
+                .reason(response.getReasonPhrase())
+                .headers(toFeignMap(response.getHeaders()))
+                .body(bytes).build();
+        releaseResources();
+        resultCallback.completed(feignResponse);
+    }
+
+    private static Map<String, Collection<String>> toFeignMap(final Header[] headers) {
+        final Map<String, Collection<String>> feignMap = new LinkedHashMap<>(headers.length * 2);
+        for (final Header header : headers) {
+            feignMap.computeIfAbsent(header.getName(), name -> new ArrayList<>(1)).add(header.getValue());
+        }
+        return feignMap;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link AsyncFeignHttpClient} on top of JDK {@link HttpClient}, HTTP/2 is negotiated when the server supports it.
+ * Read timeout of {@link Request.Options} is applied per request, connect timeout is configured on {@link HttpClient}.
+ * <p>
+ * Headers the JDK client sets itself, such as {@code Content-Length} or {@code Connection}, are skipped. A {@code Host}
+ * header can't be honoured, the authority of the URL is always sent, so such requests fail with
+ * {@link IllegalArgumentException} instead of going to a different virtual host silently.
+ */
+public final class JdkFeignHttpClient implements AsyncFeignHttpClient {
+
+    private static final System.Logger LOG = System.getLogger(JdkFeignHttpClient.class.getName());
+
+    /**
+     * Headers JDK 11 {@link HttpClient} refuses to send, it sets some of them itself. {@code Host} is rejected separately.
+     */
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.add("Connection");
+        RESTRICTED_HEADERS.add("Content-Length");
+        RESTRICTED_HEADERS.add("Date");
+        RESTRICTED_HEADERS.add("Expect");
+        RESTRICTED_HEADERS.add("From");
+        RESTRICTED_HEADERS.add("Upgrade");
+        RESTRICTED_HEADERS.add("Via");
+        RESTRICTED_HEADERS.add("Warning");
+    }
+
+    private final HttpClient httpClient;
+
+    public JdkFeignHttpClient() {
+        this(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(new Request.Options().connectTimeoutMillis()))
+                .build());
+    }
+
+    public JdkFeignHttpClient(final HttpClient httpClient) {
+        if (httpClient == null)
+            throw new IllegalArgumentException("JDK 'HttpClient' instance must not be null");
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(final Request request, final Request.Options options) {
+        return execute(request, options, HttpExchangeListener.NOOP);
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(final Request request, final Request.Options options,
+                                               final HttpExchangeListener listener) {
+        final CompletableFuture<Response> feignResponse = new CompletableFuture<>();
+        final HttpRequest httpRequest;
+        try {
+            httpRequest = toHttpRequest(request, options);
+        } catch (RuntimeException ex) {
+            feignResponse.completeExceptionally(ex);
+            return feignResponse;
+        }
+
+        listener.onStart();
+        // body array is handed over to Response as is
+        httpClient.sendAsync(httpRequest, responseInfo -> {
+            listener.onResponseHeaders(responseInfo.statusCode());
+            return HttpResponse.BodySubscribers.ofByteArray();
+        }).whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                feignResponse.completeExceptionally(throwable);
+                return;
+            }
+            listener.onResponseBody(response.body().length);
+            feignResponse.complete(Response.builder()
+                    .request(request)
+                    .status(response.statusCode())
+                    .headers(toFeignMap(response.headers()))
+                    .body(response.body()).build());
+        });
+        return feignResponse;
+    }
+
+    /**
+     * Sends {@code connections} concurrent {@code HEAD} requests to {@code url}, HTTP/2 connections are multiplexed
+     * so fewer connections may be established.
+     */
+    @Override
+    public CompletableFuture<Void> warmUp(final String url, final int connections) {
+        final HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(url))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[connections];
+        for (int i = 0; i < connections; i++) {
+            futures[i] = httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding());
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    private HttpRequest toHttpRequest(final Request request, final Request.Options options) {
+        final byte[] body = request.requestBody().asBytes();
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.url()))
+                .timeout(Duration.ofMillis(options.readTimeoutMillis()))
+                .method(request.httpMethod().name(), body != null && body.length > 0
+                        ? HttpRequest.BodyPublishers.ofByteArray(body) : HttpRequest.BodyPublishers.noBody());
+        for (final Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+            if ("Host".equalsIgnoreCase(header.getKey())) {
+                throw new IllegalArgumentException(String.format(
+                        "Host header %s can't be sent by JDK HttpClient, put the host into the URL %s instead",
+                        header.getValue(), request.url()));
+            }
+            if (RESTRICTED_HEADERS.contains(header.getKey())) {
+                LOG.log(System.Logger.Level.DEBUG, "Header {0} refused by JDK HttpClient is not sent to {1}",
+                        header.getKey(), request.url());
+                continue;
+            }
+            for (final String value : header.getValue()) {
+                builder.header(header.getKey(), value);
+            }
+        }
+        return builder.build();
+    }
+
+    private Map<String, Collection<String>> toFeignMap(final HttpHeaders httpHeaders) {
+        final Map<String, List<String>> headers = httpHeaders.map();
+        final Map<String, Collection<String>> feignMap = new LinkedHashMap<>(headers.size() * 2);
+        headers.forEach((name, values) -> {
+            // HTTP/2 pseudo-headers such as :status
+            if (!name.startsWith(":")) {
+                feignMap.put(name, values);
+            }
+        });
+        return feignMap;
+    }
+}
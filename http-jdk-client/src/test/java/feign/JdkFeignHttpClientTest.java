@@ -0,0 +1,129 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class JdkFeignHttpClientTest {
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(8089);
+
+    private final JdkFeignHttpClient httpClient = new JdkFeignHttpClient();
+
+    @Test
+    public void testStatusAndHeaders_success() throws Exception {
+        stubFor(get(urlEqualTo("/icecream/flavors"))
+                .willReturn(aResponse().withStatus(201).withHeader("Content-Type", "application/json")
+                        .withHeader("X-Flavor", "STRAWBERRY", "VANILLA").withBody("[\"STRAWBERRY\"]")));
+
+        Response response = httpClient.execute(request(Request.HttpMethod.GET, "/icecream/flavors",
+                Collections.emptyMap(), null), new Request.Options()).get();
+
+        assertThat(response.status()).isEqualTo(201);
+        assertThat(response.headers().get("content-type")).containsExactly("application/json");
+        assertThat(response.headers().get("X-Flavor")).containsExactly("STRAWBERRY", "VANILLA");
+        assertThat(response.headers()).doesNotContainKey(":status");
+        assertThat(Util.toByteArray(response.body().asInputStream()))
+                .isEqualTo("[\"STRAWBERRY\"]".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testRequestBody_success() throws Exception {
+        stubFor(post(urlEqualTo("/icecream/orders")).willReturn(aResponse().withStatus(200)));
+
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", Collections.singletonList("application/json"));
+        headers.put("X-Toppings", Arrays.asList("NUTS", "CHOCOLATE"));
+        // refused by JDK 11 HttpClient, not sent
+        headers.put("Content-Length", Collections.singletonList("13"));
+        headers.put("Date", Collections.singletonList("Tue, 15 Nov 1994 08:12:31 GMT"));
+        headers.put("Via", Collections.singletonList("1.1 proxy"));
+        Response response = httpClient.execute(request(Request.HttpMethod.POST, "/icecream/orders", headers,
+                "{\"id\":\"42\"}"), new Request.Options()).get();
+
+        assertThat(response.status()).isEqualTo(200);
+        List<LoggedRequest> requests = findAll(postRequestedFor(urlEqualTo("/icecream/orders"))
+                .withHeader("Content-Type", equalTo("application/json"))
+                .withoutHeader("Via")
+                .withRequestBody(equalToJson("{\"id\":\"42\"}")));
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).getHeaders().getHeader("X-Toppings").values()).containsExactly("NUTS", "CHOCOLATE");
+    }
+
+    @Test
+    public void testHostHeader_failure() throws InterruptedException {
+        try {
+            httpClient.execute(request(Request.HttpMethod.GET, "/icecream/flavors",
+                    Collections.singletonMap("Host", Collections.singletonList("icecream.example.com")), null),
+                    new Request.Options()).get();
+            fail("IllegalArgumentException is expected");
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause()).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Host");
+        }
+        assertThat(findAll(anyRequestedFor(anyUrl()))).isEmpty();
+    }
+
+    @Test
+    public void testReadTimeout_failure() throws InterruptedException {
+        stubFor(get(urlEqualTo("/icecream/flavors")).willReturn(aResponse().withStatus(200).withFixedDelay(1000)));
+
+        try {
+            httpClient.execute(request(Request.HttpMethod.GET, "/icecream/flavors", Collections.emptyMap(), null),
+                    new Request.Options(1000, 100)).get();
+            fail("HttpTimeoutException is expected");
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause()).isInstanceOf(HttpTimeoutException.class);
+        }
+    }
+
+    @Test
+    public void testWarmUp_success() throws Exception {
+        httpClient.warmUp("http://localhost:8089/", 2).get();
+
+        List<LoggedRequest> requests = findAll(anyRequestedFor(urlEqualTo("/")));
+        assertThat(requests).hasSize(2);
+        assertThat(requests).extracting(request -> request.getMethod().getName()).containsOnly("HEAD");
+    }
+
+    private static Request request(Request.HttpMethod method, String path, Map<String, Collection<String>> headers,
+                                   String body) {
+        return Request.create(method, "http://localhost:8089" + path, headers,
+                body != null ? body.getBytes(StandardCharsets.UTF_8) : null, StandardCharsets.UTF_8);
+    }
+}
@@ -20,8 +20,91 @@
 
 package feign;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
 
 public interface AsyncFeignHttpClient {
     CompletableFuture<Response> execute(Request request, Request.Options options);
+
+    /**
+     * Executes request reporting exchange milestones to the provided listener.
+     * Back-ends which are not able to observe milestones fall back to {@link #execute(Request, Request.Options)}.
+     *
+     * @param request  request to execute
+     * @param options  request options
+     * @param listener exchange listener, never {@code null}
+     * @return future with response or occurred error
+     */
+    default CompletableFuture<Response> execute(Request request, Request.Options options, HttpExchangeListener listener) {
+        return execute(request, options);
+    }
+
+    /**
+     * Executes request whose body is written by {@code body} instead of {@link Request#body()}.
+     * Back-ends without transport buffer support write the body into a byte array and fall back to
+     * {@link #execute(Request, Request.Options, HttpExchangeListener)}.
+     *
+     * @param request  request to execute, its body is ignored
+     * @param body     writer of the request body
+     * @param options  request options
+     * @param listener exchange listener, never {@code null}
+     * @return future with response or occurred error
+     */
+    default CompletableFuture<Response> execute(Request request, RequestBodyWriter body, Request.Options options,
+                                                HttpExchangeListener listener) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            body.writeTo(out);
+        } catch (IOException | RuntimeException ex) {
+            final CompletableFuture<Response> failed = new CompletableFuture<>();
+            failed.completeExceptionally(ex);
+            return failed;
+        }
+        return execute(Request.create(request.httpMethod(), request.url(), request.headers(), out.toByteArray(),
+                request.charset()), options, listener);
+    }
+
+    /**
+     * Executes request handling the response body as the method needs it. Back-ends which can't handle the body
+     * while it's received apply {@code bodyHandling} to the read response.
+     *
+     * @param request      request to execute
+     * @param body         writer of the request body or {@code null} to send {@link Request#body()}
+     * @param bodyHandling handling of the response body
+     * @param options      request options
+     * @param listener     exchange listener, never {@code null}
+     * @return future with response or occurred error
+     */
+    default CompletableFuture<Response> execute(Request request, RequestBodyWriter body, ResponseBodyHandling bodyHandling,
+                                                Request.Options options, HttpExchangeListener listener) {
+        final CompletableFuture<Response> response = body != null
+                ? execute(request, body, options, listener)
+                : execute(request, options, listener);
+        final CompletableFuture<Response> handled = new CompletableFuture<>();
+        response.whenComplete((res, thr) -> {
+            if (thr != null) {
+                handled.completeExceptionally(thr);
+                return;
+            }
+            try {
+                handled.complete(bodyHandling.apply(res));
+            } catch (IOException | RuntimeException ex) {
+                handled.completeExceptionally(ex);
+            }
+        });
+        return handled;
+    }
+
+    /**
+     * Pre-establishes connections to the given URL so that first requests don't pay for DNS resolution,
+     * connect and TLS handshake. Back-ends without connection pool management complete immediately.
+     *
+     * @param url         base URL of the target
+     * @param connections number of connections to establish
+     * @return future completed once connections are established
+     */
+    default CompletableFuture<Void> warmUp(String url, int connections) {
+        return CompletableFuture.completedFuture(null);
+    }
 }
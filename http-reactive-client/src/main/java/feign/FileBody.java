@@ -0,0 +1,113 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Request body backed by a file region. Back-ends able to transfer files directly, e.g. with Netty
+ * {@code FileRegion}, send it without copying it to the heap, others read it through {@link #writeTo(OutputStream)}.
+ * Method parameters of type {@link Path}, {@link File} or {@code FileBody} are sent as file bodies, bypassing
+ * the encoder.
+ */
+public final class FileBody implements RequestBodyWriter {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path path;
+    private final long position;
+    private final long count;
+
+    private FileBody(final Path path, final long position, final long count) {
+        this.path = path;
+        this.position = position;
+        this.count = count;
+    }
+
+    /**
+     * @param path file to send as a whole
+     * @return file body
+     * @throws IOException if size of the file can't be read
+     */
+    public static FileBody of(final Path path) throws IOException {
+        return new FileBody(path, 0, Files.size(path));
+    }
+
+    public static FileBody of(final File file) throws IOException {
+        return of(file.toPath());
+    }
+
+    /**
+     * @param path     file to send a region of
+     * @param position start of the region
+     * @param count    size of the region in bytes
+     * @return file body
+     */
+    public static FileBody of(final Path path, final long position, final long count) {
+        if (position < 0 || count < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid region of file %s, position %d, count %d", path, position, count));
+        }
+        return new FileBody(path, position, count);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void writeTo(final OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final byte[] buffer = new byte[(int) Math.min(BUFFER_SIZE, Math.max(1, count))];
+            final InputStream in = Channels.newInputStream(channel.position(position));
+            long remaining = count;
+            while (remaining > 0) {
+                final int n = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (n < 0) {
+                    throw new IOException(String.format("File %s ended before %d bytes of the region were read",
+                            path, count));
+                }
+                out.write(buffer, 0, n);
+                remaining -= n;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FileBody{" + "path=" + path + ", position=" + position + ", count=" + count + '}';
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+/**
+ * Receives transport level milestones of a single HTTP exchange performed by {@link AsyncFeignHttpClient}.
+ * Callbacks are invoked on transport threads and must not block.
+ */
+public interface HttpExchangeListener {
+
+    HttpExchangeListener NOOP = new HttpExchangeListener() {
+    };
+
+    /**
+     * Transport started processing the request (i.e. request left any client side queue).
+     */
+    default void onStart() {
+    }
+
+    /**
+     * Connection to the target host is acquired, either newly established or taken from a pool.
+     */
+    default void onConnectionAcquired() {
+    }
+
+    /**
+     * Response status line and headers are received.
+     *
+     * @param status HTTP status code
+     */
+    default void onResponseHeaders(int status) {
+    }
+
+    /**
+     * Response body is completely read.
+     *
+     * @param bytes number of body bytes read
+     */
+    default void onResponseBody(long bytes) {
+    }
+
+    /**
+     * Exchange is completed. Invoked by the caller once the future returned by {@link AsyncFeignHttpClient} completes,
+     * back-ends don't have to call it.
+     *
+     * @param throwable transport failure or {@code null} if response was received
+     */
+    default void onComplete(Throwable throwable) {
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import java.io.IOException;
+
+import static feign.Util.ensureClosed;
+
+/**
+ * How a back-end treats the response body, derived from the return type of the method:
+ * {@code Void} methods discard bodies of successful responses, {@code Response} methods get the body as a stream,
+ * bodies of other methods are aggregated up to a limit. Bodies of unsuccessful responses are not discarded, they are
+ * read by the error decoder.
+ */
+public final class ResponseBodyHandling {
+    public static final ResponseBodyHandling DISCARD = new ResponseBodyHandling(Mode.DISCARD, -1);
+    public static final ResponseBodyHandling STREAM = new ResponseBodyHandling(Mode.STREAM, -1);
+    public static final ResponseBodyHandling AGGREGATE = new ResponseBodyHandling(Mode.AGGREGATE, -1);
+
+    private final Mode mode;
+    private final long maxBytes;
+
+    private ResponseBodyHandling(final Mode mode, final long maxBytes) {
+        this.mode = mode;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @param maxBytes maximal size of aggregated body, unlimited if negative
+     * @return aggregation of bodies up to {@code maxBytes}
+     */
+    public static ResponseBodyHandling aggregate(final long maxBytes) {
+        return maxBytes < 0 ? AGGREGATE : new ResponseBodyHandling(Mode.AGGREGATE, maxBytes);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return maximal size of aggregated body, negative if unlimited
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @param status HTTP status of the response
+     * @return whether the body of the response is discarded
+     */
+    public boolean isDiscarded(final int status) {
+        return mode == Mode.DISCARD && status >= 200 && status < 300;
+    }
+
+    /**
+     * @param bytes number of body bytes received so far or announced by {@code Content-Length}
+     * @throws ResponseBodyTooLargeException if the body exceeds {@link #getMaxBytes()}
+     */
+    public void checkSize(final long bytes) throws ResponseBodyTooLargeException {
+        if (maxBytes >= 0 && bytes > maxBytes) {
+            throw new ResponseBodyTooLargeException(maxBytes);
+        }
+    }
+
+    /**
+     * Applies handling to a response already read by a back-end unaware of it.
+     */
+    Response apply(final Response response) throws IOException {
+        if (response.body() == null) {
+            return response;
+        }
+        if (isDiscarded(response.status())) {
+            ensureClosed(response.body());
+            return Response.builder()
+                    .request(response.request())
+                    .status(response.status())
+                    .reason(response.reason())
+                    .headers(response.headers())
+                    .body(new byte[0])
+                    .build();
+        }
+        if (mode == Mode.AGGREGATE && response.body().length() != null) {
+            try {
+                checkSize(response.body().length());
+            } catch (ResponseBodyTooLargeException e) {
+                ensureClosed(response.body());
+                throw e;
+            }
+        }
+        return response;
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseBodyHandling{" + "mode=" + mode + ", maxBytes=" + maxBytes + '}';
+    }
+
+    public enum Mode {
+        DISCARD, STREAM, AGGREGATE
+    }
+}
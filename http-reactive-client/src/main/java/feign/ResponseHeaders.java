@@ -0,0 +1,57 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Response headers of a back-end as {@link Response.Builder#headers(Map)} takes them. Feign makes its own
+ * case-insensitive copy of the map, so back-ends hand their headers over with a single pass and no intermediate view.
+ */
+public final class ResponseHeaders {
+
+    private ResponseHeaders() {
+    }
+
+    /**
+     * @param headers header entries, a repeated header has an entry per value
+     * @return headers with one list of values per name, names differing in case are merged by Feign
+     */
+    public static Map<String, Collection<String>> copyOf(final Iterable<? extends Map.Entry<String, String>> headers) {
+        final Map<String, Collection<String>> feignMap = new LinkedHashMap<>();
+        for (final Map.Entry<String, String> header : headers) {
+            feignMap.computeIfAbsent(header.getKey(), name -> new ArrayList<>(1)).add(header.getValue());
+        }
+        return feignMap;
+    }
+
+    /**
+     * @param headers headers already grouped by name, such as Spring {@code HttpHeaders}
+     * @return read-only headers, not copied
+     */
+    public static Map<String, Collection<String>> of(final Map<String, ? extends Collection<String>> headers) {
+        return Collections.unmodifiableMap(headers);
+    }
+}
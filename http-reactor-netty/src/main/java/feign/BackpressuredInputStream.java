@@ -0,0 +1,217 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import io.netty.buffer.ByteBuf;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.netty.Connection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Response body stream fed by the inbound byte buffers of a connection. At most {@code prefetch} buffers are
+ * requested ahead of the reader, the next one is requested once a buffer is consumed, so a body is never resident
+ * as a whole. Closing the stream before the end of the body closes the connection.
+ * <p>
+ * Reads block until data arrives and must not happen on the event loop of the connection.
+ */
+final class BackpressuredInputStream extends InputStream implements Subscriber<ByteBuf> {
+    private static final Object COMPLETE = new Object();
+
+    private final Connection connection;
+    private final int prefetch;
+    private final Runnable onTerminate;
+    private final BlockingQueue<Object> queue;
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private volatile Subscription subscription;
+    private volatile boolean closed;
+    private ByteBuf current;
+    private boolean done;
+
+    /**
+     * @param connection  connection the body is received on
+     * @param prefetch    number of buffers requested ahead of the reader
+     * @param onTerminate invoked once the body is read, failed or the stream is closed
+     */
+    BackpressuredInputStream(final Connection connection, final int prefetch, final Runnable onTerminate) {
+        this.connection = connection;
+        this.prefetch = prefetch;
+        this.onTerminate = onTerminate;
+        // buffers in flight plus terminal signal
+        this.queue = new ArrayBlockingQueue<>(prefetch + 1);
+    }
+
+    @Override
+    public void onSubscribe(final Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(final ByteBuf buffer) {
+        // inbound buffers are released once delivered
+        queue.offer(buffer.retain());
+        if (closed) {
+            drain();
+        }
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        queue.offer(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        queue.offer(COMPLETE);
+    }
+
+    @Override
+    public int read() throws IOException {
+        final ByteBuf buffer = current();
+        if (buffer == null) {
+            return -1;
+        }
+        final int b = buffer.readByte() & 0xff;
+        consumed(buffer);
+        return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        final ByteBuf buffer = current();
+        if (buffer == null) {
+            return -1;
+        }
+        final int n = Math.min(len, buffer.readableBytes());
+        buffer.readBytes(b, off, n);
+        consumed(buffer);
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return current != null ? current.readableBytes() : 0;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (current != null) {
+            current.release();
+            current = null;
+        }
+        if (!done) {
+            final Subscription s = subscription;
+            if (s != null) {
+                s.cancel();
+            }
+            // rest of the body is not read, connection can't be reused
+            connection.dispose();
+        }
+        drain();
+        terminate();
+    }
+
+    private ByteBuf current() throws IOException {
+        ensureOpen();
+        while (current == null) {
+            if (done) {
+                return null;
+            }
+            final Object next = take();
+            if (next instanceof ByteBuf) {
+                final ByteBuf buffer = (ByteBuf) next;
+                if (buffer.isReadable()) {
+                    current = buffer;
+                } else {
+                    buffer.release();
+                    subscription.request(1);
+                }
+            } else {
+                done = true;
+                terminate();
+                if (next instanceof Throwable) {
+                    throw new IOException("Response body can't be read", (Throwable) next);
+                }
+            }
+        }
+        return current;
+    }
+
+    private Object take() throws IOException {
+        final Object next = queue.poll();
+        if (next != null) {
+            return next;
+        }
+        if (connection.channel().eventLoop().inEventLoop()) {
+            throw new IOException("Blocking read of response body on event loop " + Thread.currentThread().getName());
+        }
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for response body");
+        }
+    }
+
+    private void consumed(final ByteBuf buffer) {
+        if (!buffer.isReadable()) {
+            buffer.release();
+            current = null;
+            subscription.request(1);
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void drain() {
+        Object next;
+        while ((next = queue.poll()) != null) {
+            if (next instanceof ByteBuf) {
+                ((ByteBuf) next).release();
+            }
+        }
+    }
+
+    private void terminate() {
+        if (terminated.compareAndSet(false, true)) {
+            onTerminate.run();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live metrics of a connection pool of {@link ReactorNettyFeignHttpClient}. Acquire latency is time from request
+ * subscription to connection being ready to send the request, including connect and TLS handshake of new connections.
+ * It's recorded into {@code FeignContext} as well, as connection acquire phase.
+ */
+public final class ConnectionPoolMetrics {
+    /**
+     * Bucket {@code i} of acquire latency histogram counts latencies below {@code 2^i} microseconds,
+     * the last one counts all the rest.
+     */
+    public static final int ACQUIRE_LATENCY_BUCKETS = 32;
+
+    private final String name;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger pendingAcquires = new AtomicInteger();
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder closed = new LongAdder();
+    private final AtomicLongArray acquireLatency = new AtomicLongArray(ACQUIRE_LATENCY_BUCKETS);
+
+    ConnectionPoolMetrics(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return pool name, scheme and authority of the target URL or {@link ReactorNettyFeignHttpClient#DEFAULT_POOL}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return connections in use by requests
+     */
+    public int getActive() {
+        return active.get();
+    }
+
+    /**
+     * @return open connections not in use
+     */
+    public long getIdle() {
+        return Math.max(0, getOpen() - getActive());
+    }
+
+    /**
+     * @return open connections
+     */
+    public long getOpen() {
+        return opened.sum() - closed.sum();
+    }
+
+    /**
+     * @return requests waiting for a connection
+     */
+    public int getPendingAcquires() {
+        return pendingAcquires.get();
+    }
+
+    /**
+     * @return connections opened since the pool was created
+     */
+    public long getOpened() {
+        return opened.sum();
+    }
+
+    /**
+     * @return connections closed since the pool was created
+     */
+    public long getClosed() {
+        return closed.sum();
+    }
+
+    /**
+     * @return snapshot of acquire latency histogram, see {@link #ACQUIRE_LATENCY_BUCKETS}
+     */
+    public long[] getAcquireLatencyHistogram() {
+        final long[] snapshot = new long[ACQUIRE_LATENCY_BUCKETS];
+        for (int i = 0; i < ACQUIRE_LATENCY_BUCKETS; i++) {
+            snapshot[i] = acquireLatency.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * @param bucket bucket index
+     * @return exclusive upper bound of the bucket in microseconds, {@link Long#MAX_VALUE} for the last bucket
+     */
+    public static long getAcquireLatencyUpperBoundMicros(final int bucket) {
+        return bucket == ACQUIRE_LATENCY_BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    /**
+     * @param maxPendingAcquires limit of pending acquires, unlimited if negative
+     * @return whether the request may wait for a connection
+     */
+    boolean tryStartAcquire(final int maxPendingAcquires) {
+        if (pendingAcquires.incrementAndGet() > maxPendingAcquires && maxPendingAcquires >= 0) {
+            pendingAcquires.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void onAcquired(final long startNanos) {
+        pendingAcquires.decrementAndGet();
+        active.incrementAndGet();
+        acquireLatency.incrementAndGet(bucket(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos)));
+    }
+
+    void onAcquireFailed() {
+        pendingAcquires.decrementAndGet();
+    }
+
+    void onReleased() {
+        active.decrementAndGet();
+    }
+
+    void onConnectionOpened() {
+        opened.increment();
+    }
+
+    void onConnectionClosed() {
+        closed.increment();
+    }
+
+    static int bucket(final long micros) {
+        return micros <= 0 ? 0 : Math.min(ACQUIRE_LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolMetrics{" + "name=" + name + ", active=" + getActive() + ", idle=" + getIdle()
+                + ", pendingAcquires=" + getPendingAcquires() + ", opened=" + getOpened() + ", closed=" + getClosed() + '}';
+    }
+}
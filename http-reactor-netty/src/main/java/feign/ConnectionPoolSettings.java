@@ -0,0 +1,136 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Connection pool configuration of {@link ReactorNettyFeignHttpClient}, either default or per target.
+ */
+public final class ConnectionPoolSettings {
+    private final int maxConnections;
+    private final long acquireTimeoutMillis;
+    private final int maxPendingAcquires;
+    private final long maxIdleTimeMillis;
+    private final long maxLifeTimeMillis;
+
+    private ConnectionPoolSettings(final Builder builder) {
+        this.maxConnections = builder.maxConnections;
+        this.acquireTimeoutMillis = builder.acquireTimeoutMillis;
+        this.maxPendingAcquires = builder.maxPendingAcquires;
+        this.maxIdleTimeMillis = builder.maxIdleTimeMillis;
+        this.maxLifeTimeMillis = builder.maxLifeTimeMillis;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public long getAcquireTimeoutMillis() {
+        return acquireTimeoutMillis;
+    }
+
+    public int getMaxPendingAcquires() {
+        return maxPendingAcquires;
+    }
+
+    public long getMaxIdleTimeMillis() {
+        return maxIdleTimeMillis;
+    }
+
+    public long getMaxLifeTimeMillis() {
+        return maxLifeTimeMillis;
+    }
+
+    ConnectionProvider newConnectionProvider(final String name) {
+        return ConnectionProvider.fixed(name, maxConnections, acquireTimeoutMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolSettings{" + "maxConnections=" + maxConnections
+                + ", acquireTimeoutMillis=" + acquireTimeoutMillis
+                + ", maxPendingAcquires=" + maxPendingAcquires
+                + ", maxIdleTimeMillis=" + maxIdleTimeMillis
+                + ", maxLifeTimeMillis=" + maxLifeTimeMillis + '}';
+    }
+
+    public static final class Builder {
+        private int maxConnections = ConnectionProvider.DEFAULT_POOL_MAX_CONNECTIONS;
+        private long acquireTimeoutMillis = ConnectionProvider.DEFAULT_POOL_ACQUIRE_TIMEOUT;
+        private int maxPendingAcquires = -1;
+        private long maxIdleTimeMillis = -1;
+        private long maxLifeTimeMillis = -1;
+
+        private Builder() {
+        }
+
+        public Builder maxConnections(final int maxConnections) {
+            if (maxConnections < 1)
+                throw new IllegalArgumentException("maxConnections must be positive");
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        /**
+         * @param acquireTimeoutMillis time to wait for a connection when all of them are in use
+         */
+        public Builder acquireTimeoutMillis(final long acquireTimeoutMillis) {
+            this.acquireTimeoutMillis = acquireTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * @param maxPendingAcquires maximum number of requests waiting for a connection, requests above it fail fast
+         *                           with {@link PendingAcquireLimitException}, unlimited if negative (default)
+         */
+        public Builder maxPendingAcquires(final int maxPendingAcquires) {
+            this.maxPendingAcquires = maxPendingAcquires;
+            return this;
+        }
+
+        /**
+         * @param maxIdleTimeMillis time after which connection released to the pool is closed if it isn't reused,
+         *                          disabled if negative (default)
+         */
+        public Builder maxIdleTimeMillis(final long maxIdleTimeMillis) {
+            this.maxIdleTimeMillis = maxIdleTimeMillis;
+            return this;
+        }
+
+        /**
+         * @param maxLifeTimeMillis time after which connection is closed once released to the pool,
+         *                          disabled if negative (default)
+         */
+        public Builder maxLifeTimeMillis(final long maxLifeTimeMillis) {
+            this.maxLifeTimeMillis = maxLifeTimeMillis;
+            return this;
+        }
+
+        public ConnectionPoolSettings build() {
+            return new ConnectionPoolSettings(this);
+        }
+    }
+}
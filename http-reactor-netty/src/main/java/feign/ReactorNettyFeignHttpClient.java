@@ -20,58 +20,720 @@
 
 package feign;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.util.AsciiString;
+import io.netty.util.AttributeKey;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.scheduler.Schedulers;
 import reactor.netty.ByteBufFlux;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
-public final class ReactorNettyFeignHttpClient implements AsyncFeignHttpClient {
+/**
+ * {@link AsyncFeignHttpClient} on top of Reactor Netty {@link HttpClient}. Requests to {@code unix://} URLs, see
+ * {@code UnixDomainSocketTarget}, are sent over the Unix domain socket encoded in the authority, which requires
+ * native epoll transport.
+ * <p>
+ * Connections of targets configured by {@link Builder#connectionPool(String, ConnectionPoolSettings)} and of each
+ * Unix domain socket are accounted separately, those of all other targets in the {@link #DEFAULT_POOL default pool},
+ * see {@link #getPoolMetrics()}.
+ */
+public final class ReactorNettyFeignHttpClient implements AsyncFeignHttpClient, Closeable {
+    /**
+     * Key of metrics of targets without own connection pool.
+     */
+    public static final String DEFAULT_POOL = "default";
+    private static final String UNIX_SCHEME = "unix:";
+    /**
+     * Host of requests sent over Unix domain sockets unless {@code Host} header is set.
+     */
+    private static final String UNIX_HOST = "localhost";
+
+    private static final AttributeKey<Long> CREATED_AT =
+            AttributeKey.valueOf(ReactorNettyFeignHttpClient.class, "createdAt");
+    private static final AttributeKey<Long> RELEASED_AT =
+            AttributeKey.valueOf(ReactorNettyFeignHttpClient.class, "releasedAt");
+
+    /**
+     * Bounds the header name cache when clients send generated header names.
+     */
+    private static final int MAX_CACHED_HEADER_NAMES = 512;
+    private static final byte[] EMPTY_BODY = new byte[0];
+    /**
+     * Inbound buffers of a streamed response body requested ahead of the reader.
+     */
+    private static final int STREAM_PREFETCH = 4;
+    private static final ConcurrentMap<String, AsciiString> HEADER_NAMES = new ConcurrentHashMap<>();
+    private static final Map<Request.HttpMethod, HttpMethod> HTTP_METHODS = new EnumMap<>(Request.HttpMethod.class);
+
+    static {
+        for (final Request.HttpMethod method : Request.HttpMethod.values()) {
+            HTTP_METHODS.put(method, HttpMethod.valueOf(method.name()));
+        }
+    }
 
     private final HttpClient httpClient;
+    private final ConnectionPoolSettings poolSettings;
+    private final Pool defaultPool;
+    private final Map<String, Pool> targetPools;
+    /**
+     * Pools of Unix domain sockets without own settings, each socket path needs an own address supplier.
+     */
+    private final ConcurrentMap<String, Pool> domainSocketPools = new ConcurrentHashMap<>();
+    private final Transport transport;
+    private final LoopResources loopResources;
+    private final List<ConnectionProvider> connectionProviders;
 
     public ReactorNettyFeignHttpClient(final HttpClient httpClient) {
+        this(httpClient, null, Collections.emptyMap(), null, null, Collections.emptyList());
+    }
+
+    private ReactorNettyFeignHttpClient(final HttpClient httpClient, final ConnectionPoolSettings poolSettings,
+                                        final Map<String, TargetPool> targetPools, final Transport transport,
+                                        final LoopResources loopResources, final List<ConnectionProvider> connectionProviders) {
         if (httpClient == null)
             throw new IllegalArgumentException("Reactor 'HttpClient' instance must not be null");
         this.httpClient = httpClient;
+        this.poolSettings = poolSettings;
+        this.defaultPool = newPool(DEFAULT_POOL, httpClient, poolSettings);
+        final Map<String, Pool> pools = new HashMap<>();
+        targetPools.forEach((key, targetPool) -> pools.put(key, newPool(key, targetPool.httpClient, targetPool.settings)));
+        this.targetPools = pools;
+        this.transport = transport;
+        this.loopResources = loopResources;
+        this.connectionProviders = connectionProviders;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return transport of event loops created by {@link Builder} or {@code null} if {@link HttpClient} was provided
+     */
+    public Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * @return metrics of connections by configured target or Unix domain socket, i.e. scheme and authority of request
+     * URLs, connections of other targets are accounted under {@link #DEFAULT_POOL}
+     */
+    public Map<String, ConnectionPoolMetrics> getPoolMetrics() {
+        final Map<String, ConnectionPoolMetrics> metrics = new TreeMap<>();
+        metrics.put(DEFAULT_POOL, defaultPool.metrics);
+        targetPools.forEach((key, pool) -> metrics.put(key, pool.metrics));
+        domainSocketPools.forEach((key, pool) -> metrics.put(key, pool.metrics));
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Disposes event loops and connection pools created by {@link Builder}.
+     */
+    @Override
+    public void close() {
+        connectionProviders.forEach(ConnectionProvider::dispose);
+        if (loopResources != null) {
+            loopResources.dispose();
+        }
     }
 
     @Override
     public CompletableFuture<Response> execute(Request request, Request.Options options) {
-        return makeHttpClientRequest(request).toFuture();
+        return execute(request, options, HttpExchangeListener.NOOP);
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(Request request, Request.Options options, HttpExchangeListener listener) {
+        return execute(request, null, ResponseBodyHandling.AGGREGATE, options, listener);
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(Request request, RequestBodyWriter body, Request.Options options,
+                                               HttpExchangeListener listener) {
+        return execute(request, body, ResponseBodyHandling.AGGREGATE, options, listener);
     }
 
-    private Map<String, Collection<String>> toFeignMap(HttpHeaders httpHeaders) {
-        Map<String, Collection<String>> feignMap = new HashMap<>();
-        if (httpHeaders.size() > 0)
-            httpHeaders.entries().forEach(e -> feignMap.put(e.getKey(), Collections.singletonList(e.getValue())));
-        return feignMap;
+    /**
+     * Body is written into a buffer of the channel allocator, pooled and direct unless Netty is configured otherwise.
+     * Discarded response bodies are released as they arrive, aggregation fails as soon as the limit is exceeded.
+     */
+    @Override
+    public CompletableFuture<Response> execute(Request request, RequestBodyWriter body, ResponseBodyHandling bodyHandling,
+                                               Request.Options options, HttpExchangeListener listener) {
+        return Mono.defer(() -> makeHttpClientRequest(request, body, bodyHandling, listener)).toFuture();
+    }
+
+    /**
+     * Sends {@code connections} concurrent {@code HEAD} requests to {@code url}, connections are returned
+     * to the pool whatever the response status is.
+     */
+    @Override
+    public CompletableFuture<Void> warmUp(final String url, final int connections) {
+        final Pool pool = pool(url);
+        final HttpClient client = pool.domainSocket
+                ? pool.httpClient.headers(headers -> headers.set(HttpHeaderNames.HOST, UNIX_HOST)) : pool.httpClient;
+        final String uri = pool.domainSocket ? toRelativeUri(url) : url;
+        return Flux.range(0, connections)
+                .flatMap(i -> client.head().uri(uri).response().then(), connections)
+                .then()
+                .toFuture();
+    }
+
+    private Map<String, Collection<String>> toFeignMap(final HttpHeaders httpHeaders) {
+        return ResponseHeaders.copyOf(httpHeaders);
     }
 
-    private Mono<Response> makeHttpClientRequest(final Request request) {
+    private Mono<Response> makeHttpClientRequest(final Request request, final RequestBodyWriter bodyWriter,
+                                                 final ResponseBodyHandling bodyHandling,
+                                                 final HttpExchangeListener listener) {
         final Optional<byte[]> optionalBytes = Optional.ofNullable((request.requestBody().asBytes()));
-        return httpClient
-                .headers(h -> request.headers().entrySet().forEach(c -> h.set(c.getKey(), new ArrayList<>(c.getValue()))))
-                .request(httpMethodFromString(request.httpMethod().name()))
-                .uri(request.url())
-                .send(ByteBufFlux.fromInbound(Mono.just(optionalBytes.orElse(new byte[]{}))))
-                .responseSingle((r, b) ->
-                        b.asByteArray()
-                                .defaultIfEmpty(new byte[]{})
-                                .map(bytes -> Response.builder()
-                                        .request(request)
-                                        .status(r.status().code())
-                                        .reason(r.status().reasonPhrase())
-                                        .headers(toFeignMap(r.responseHeaders()))
-                                        .body(bytes).build())
-                );
-    }
-
-    private HttpMethod httpMethodFromString(final String methodName) {
-        return HttpMethod.valueOf(methodName);
+        final Pool pool = pool(request.url());
+        final Lease lease = pool.lease();
+        if (lease == null) {
+            return Mono.error(new PendingAcquireLimitException(pool.metrics.getName(), pool.settings.getMaxPendingAcquires()));
+        }
+        final HttpClient.ResponseReceiver<?> receiver = pool.httpClient
+                .request(HTTP_METHODS.get(request.httpMethod()))
+                .uri(pool.domainSocket ? toRelativeUri(request.url()) : request.url())
+                .send((req, out) -> {
+                    lease.acquired();
+                    listener.onConnectionAcquired();
+                    if (pool.domainSocket) {
+                        req.requestHeaders().set(HttpHeaderNames.HOST, UNIX_HOST);
+                    }
+                    setHeaders(req.requestHeaders(), request.headers());
+                    if (bodyWriter instanceof FileBody) {
+                        // FileRegion, or chunked transfer when the connection is encrypted
+                        final FileBody fileBody = (FileBody) bodyWriter;
+                        return out.sendFile(fileBody.getPath(), fileBody.getPosition(), fileBody.getCount());
+                    }
+                    if (bodyWriter != null) {
+                        return out.send(Mono.fromCallable(() -> writeBody(out.alloc(), bodyWriter)));
+                    }
+                    return out.send(ByteBufFlux.fromInbound(Mono.just(optionalBytes.orElse(EMPTY_BODY))));
+                });
+        final Mono<Response> response = bodyHandling.getMode() == ResponseBodyHandling.Mode.STREAM
+                ? streamResponse(request, receiver, lease, listener)
+                : receiver.response((r, content) -> {
+                    final int status = r.status().code();
+                    listener.onResponseHeaders(status);
+                    return readBody(content, status, bodyHandling, listener)
+                            .map(bytes -> Response.builder()
+                                    .request(request)
+                                    .status(status)
+                                    .reason(r.status().reasonPhrase())
+                                    .headers(toFeignMap(r.responseHeaders()))
+                                    .body(bytes).build());
+                }).next();
+        return response
+                .doOnSubscribe(s -> listener.onStart())
+                .doFinally(signal -> lease.release());
+    }
+
+    /**
+     * Response is emitted with a {@link BackpressuredInputStream} body once headers are received, the connection and
+     * its lease are held until the body is read or closed: the exchange publisher completes only when the body
+     * terminates, as Reactor Netty discards the connection once it does. Response is published off the event loop as
+     * callers may read the body right away. Bytes of streamed bodies aren't reported to the listener, they are read
+     * after the exchange completes.
+     */
+    private Mono<Response> streamResponse(final Request request, final HttpClient.ResponseReceiver<?> receiver,
+                                          final Lease lease, final HttpExchangeListener listener) {
+        final Flux<Response> exchange = receiver.responseConnection((r, connection) -> {
+            final int status = r.status().code();
+            listener.onResponseHeaders(status);
+            final MonoProcessor<Void> bodyTerminated = MonoProcessor.create();
+            final Runnable releaseLease = lease.detach();
+            final BackpressuredInputStream body = new BackpressuredInputStream(connection, STREAM_PREFETCH, () -> {
+                releaseLease.run();
+                bodyTerminated.onComplete();
+            });
+            connection.inbound().receive().subscribe(body);
+            final Response response = Response.builder()
+                    .request(request)
+                    .status(status)
+                    .reason(r.status().reasonPhrase())
+                    .headers(toFeignMap(r.responseHeaders()))
+                    .body(body, r.responseHeaders().getInt(HttpHeaderNames.CONTENT_LENGTH))
+                    .build();
+            return Mono.just(response).concatWith(bodyTerminated.then(Mono.<Response>empty()));
+        });
+        // Mono#next would cancel the exchange, hence the connection, right after the response is emitted
+        return Mono.<Response>create(sink -> {
+            final AtomicBoolean emitted = new AtomicBoolean();
+            sink.onCancel(exchange.subscribe(
+                    response -> {
+                        emitted.set(true);
+                        sink.success(response);
+                    },
+                    error -> {
+                        // errors once the response is emitted are signalled by its body
+                        if (!emitted.get()) {
+                            sink.error(error);
+                        }
+                    },
+                    sink::success));
+        }).publishOn(Schedulers.elastic());
+    }
+
+    private static Mono<byte[]> readBody(final ByteBufFlux content, final int status,
+                                         final ResponseBodyHandling bodyHandling, final HttpExchangeListener listener) {
+        if (bodyHandling.isDiscarded(status)) {
+            return content.reduce(0L, (bytes, buffer) -> bytes + buffer.readableBytes())
+                    .map(bytes -> {
+                        listener.onResponseBody(bytes);
+                        return EMPTY_BODY;
+                    });
+        }
+        ByteBufFlux body = content;
+        if (bodyHandling.getMode() == ResponseBodyHandling.Mode.AGGREGATE && bodyHandling.getMaxBytes() >= 0) {
+            final AtomicLong received = new AtomicLong();
+            body = ByteBufFlux.fromInbound(content.<ByteBuf>handle((buffer, sink) -> {
+                try {
+                    bodyHandling.checkSize(received.addAndGet(buffer.readableBytes()));
+                    sink.next(buffer);
+                } catch (ResponseBodyTooLargeException e) {
+                    sink.error(e);
+                }
+            }));
+        }
+        return body.aggregate().asByteArray()
+                .defaultIfEmpty(EMPTY_BODY)
+                .doOnNext(bytes -> listener.onResponseBody(bytes.length));
+    }
+
+    private static ByteBuf writeBody(final ByteBufAllocator allocator, final RequestBodyWriter bodyWriter)
+            throws IOException {
+        final ByteBuf buffer = allocator.buffer();
+        try {
+            bodyWriter.writeTo(new ByteBufOutputStream(buffer));
+            return buffer;
+        } catch (IOException | RuntimeException ex) {
+            buffer.release();
+            throw ex;
+        }
+    }
+
+    private Pool pool(final String url) {
+        final boolean domainSocket = url.startsWith(UNIX_SCHEME);
+        if (targetPools.isEmpty() && !domainSocket) {
+            return defaultPool;
+        }
+        final String key = poolKey(url);
+        final Pool targetPool = targetPools.get(key);
+        if (targetPool != null) {
+            return targetPool;
+        }
+        return domainSocket ? domainSocketPools.computeIfAbsent(key, k -> newPool(k, httpClient, poolSettings))
+                : defaultPool;
+    }
+
+    private static Pool newPool(final String key, final HttpClient httpClient, final ConnectionPoolSettings settings) {
+        HttpClient client = httpClient;
+        final boolean domainSocket = key.startsWith(UNIX_SCHEME);
+        if (domainSocket) {
+            final String socketPath = URI.create(key).getAuthority();
+            client = client.tcpConfiguration(tcpClient -> tcpClient.addressSupplier(() -> new DomainSocketAddress(socketPath)));
+        }
+        final ConnectionPoolMetrics metrics = new ConnectionPoolMetrics(key);
+        final PoolObserver observer = new PoolObserver(metrics, settings);
+        client = client.tcpConfiguration(tcpClient -> tcpClient.observe(observer));
+        return new Pool(client, settings, metrics, domainSocket);
+    }
+
+    /**
+     * @param url absolute URL
+     * @return scheme and authority of the URL
+     */
+    static String poolKey(final String url) {
+        final int authorityStart = url.indexOf("://");
+        if (authorityStart < 0) {
+            return url;
+        }
+        int authorityEnd = authorityStart + 3;
+        while (authorityEnd < url.length() && "/?#".indexOf(url.charAt(authorityEnd)) < 0) {
+            authorityEnd++;
+        }
+        return url.substring(0, authorityEnd);
+    }
+
+    /**
+     * Reactor Netty connects to the host of absolute URIs, only relative ones are sent to the address supplier of
+     * the domain socket.
+     *
+     * @param unixUrl {@code unix://} URL with percent-encoded socket path as authority
+     * @return path and query of the URL
+     */
+    static String toRelativeUri(final String unixUrl) {
+        final URI unixUri = URI.create(unixUrl);
+        final String path = unixUri.getRawPath() == null || unixUri.getRawPath().isEmpty() ? "/" : unixUri.getRawPath();
+        return unixUri.getRawQuery() != null ? path + "?" + unixUri.getRawQuery() : path;
+    }
+
+    /**
+     * Writes request headers straight into the Netty request, header values are not copied.
+     */
+    private static void setHeaders(final HttpHeaders httpHeaders, final Map<String, Collection<String>> headers) {
+        for (final Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            httpHeaders.set(headerName(header.getKey()), header.getValue());
+        }
+    }
+
+    /**
+     * @return cached {@link AsciiString} of the header name, whose hash code is computed once
+     */
+    static CharSequence headerName(final String name) {
+        final AsciiString cached = HEADER_NAMES.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        if (HEADER_NAMES.size() >= MAX_CACHED_HEADER_NAMES) {
+            return name;
+        }
+        final AsciiString headerName = AsciiString.cached(name);
+        final AsciiString previous = HEADER_NAMES.putIfAbsent(name, headerName);
+        return previous != null ? previous : headerName;
+    }
+
+    /**
+     * Client and settings of a target configured by {@link Builder#connectionPool(String, ConnectionPoolSettings)}.
+     */
+    private static final class TargetPool {
+        private final HttpClient httpClient;
+        private final ConnectionPoolSettings settings;
+
+        TargetPool(final HttpClient httpClient, final ConnectionPoolSettings settings) {
+            this.httpClient = httpClient;
+            this.settings = settings;
+        }
+    }
+
+    private static final class Pool {
+        private final HttpClient httpClient;
+        private final ConnectionPoolSettings settings;
+        private final ConnectionPoolMetrics metrics;
+        private final boolean domainSocket;
+
+        Pool(final HttpClient httpClient, final ConnectionPoolSettings settings, final ConnectionPoolMetrics metrics,
+             final boolean domainSocket) {
+            this.httpClient = httpClient;
+            this.settings = settings;
+            this.metrics = metrics;
+            this.domainSocket = domainSocket;
+        }
+
+        /**
+         * @return lease of a request or {@code null} if pending acquire limit is reached
+         */
+        Lease lease() {
+            return metrics.tryStartAcquire(settings != null ? settings.getMaxPendingAcquires() : -1)
+                    ? new Lease(metrics) : null;
+        }
+    }
+
+    /**
+     * Connection accounting of one request, Reactor Netty may retry sending on another connection.
+     */
+    private static final class Lease {
+        private final ConnectionPoolMetrics metrics;
+        private final long startNanos = System.nanoTime();
+        private boolean acquired;
+        private boolean released;
+        private boolean detached;
+
+        Lease(final ConnectionPoolMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        synchronized void acquired() {
+            if (!acquired && !released) {
+                acquired = true;
+                metrics.onAcquired(startNanos);
+            }
+        }
+
+        /**
+         * Hands the lease over to a streamed response body, {@link #release()} has no effect afterwards.
+         *
+         * @return releases the lease
+         */
+        synchronized Runnable detach() {
+            detached = true;
+            return this::releaseDetached;
+        }
+
+        synchronized void release() {
+            if (!detached) {
+                doRelease();
+            }
+        }
+
+        private synchronized void releaseDetached() {
+            doRelease();
+        }
+
+        private void doRelease() {
+            if (released) {
+                return;
+            }
+            released = true;
+            if (acquired) {
+                metrics.onReleased();
+            } else {
+                metrics.onAcquireFailed();
+            }
+        }
+    }
+
+    /**
+     * Counts opened and closed connections and evicts connections released to the pool after their idle or life time.
+     */
+    private static final class PoolObserver implements ConnectionObserver {
+        private final ConnectionPoolMetrics metrics;
+        private final long maxIdleTimeNanos;
+        private final long maxLifeTimeNanos;
+
+        PoolObserver(final ConnectionPoolMetrics metrics, final ConnectionPoolSettings settings) {
+            this.metrics = metrics;
+            this.maxIdleTimeNanos = settings != null && settings.getMaxIdleTimeMillis() >= 0
+                    ? TimeUnit.MILLISECONDS.toNanos(settings.getMaxIdleTimeMillis()) : -1;
+            this.maxLifeTimeNanos = settings != null && settings.getMaxLifeTimeMillis() >= 0
+                    ? TimeUnit.MILLISECONDS.toNanos(settings.getMaxLifeTimeMillis()) : -1;
+        }
+
+        @Override
+        public void onStateChange(final Connection connection, final State newState) {
+            final Channel channel = connection.channel();
+            if (newState == State.CONNECTED) {
+                channel.attr(CREATED_AT).set(System.nanoTime());
+                metrics.onConnectionOpened();
+                channel.closeFuture().addListener(future -> metrics.onConnectionClosed());
+            } else if (newState == State.ACQUIRED) {
+                channel.attr(RELEASED_AT).set(null);
+            } else if (newState == State.RELEASED) {
+                onReleased(channel);
+            }
+        }
+
+        private void onReleased(final Channel channel) {
+            final long now = System.nanoTime();
+            final Long createdAt = channel.attr(CREATED_AT).get();
+            if (maxLifeTimeNanos >= 0 && createdAt != null && now - createdAt >= maxLifeTimeNanos) {
+                // closed channel is discarded by the pool on next acquire
+                channel.close();
+            } else if (maxIdleTimeNanos >= 0) {
+                channel.attr(RELEASED_AT).set(now);
+                channel.eventLoop().schedule(() -> {
+                    final Long releasedAt = channel.attr(RELEASED_AT).get();
+                    if (releasedAt != null && releasedAt == now) {
+                        channel.close();
+                    }
+                }, maxIdleTimeNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Event loop transport, native ones are used when their Netty artifact is on the classpath and the OS supports them.
+     */
+    public enum Transport {
+        /**
+         * Linux, requires {@code io.netty:netty-transport-native-epoll}
+         */
+        EPOLL("io.netty.channel.epoll.Epoll"),
+        /**
+         * macOS and BSD, requires {@code io.netty:netty-transport-native-kqueue}
+         */
+        KQUEUE("io.netty.channel.kqueue.KQueue"),
+        NIO(null);
+
+        private final String availabilityClass;
+
+        Transport(final String availabilityClass) {
+            this.availabilityClass = availabilityClass;
+        }
+
+        /**
+         * @return whether the transport can be used in this JVM
+         */
+        public boolean isAvailable() {
+            if (availabilityClass == null) {
+                return true;
+            }
+            try {
+                return (Boolean) Class.forName(availabilityClass, false, Transport.class.getClassLoader())
+                        .getMethod("isAvailable").invoke(null);
+            } catch (ReflectiveOperationException | LinkageError ex) {
+                return false;
+            }
+        }
+
+        /**
+         * @param preferNative whether native transports are preferred
+         * @return transport Reactor Netty selects, in the order of its native transport detection
+         */
+        static Transport select(final boolean preferNative) {
+            if (preferNative) {
+                for (final Transport transport : values()) {
+                    if (transport.isAvailable()) {
+                        return transport;
+                    }
+                }
+            }
+            return NIO;
+        }
+    }
+
+    /**
+     * Creates {@link HttpClient} running on own event loops with native transport when available, falling back to NIO.
+     */
+    public static final class Builder {
+        private boolean preferNative = true;
+        private int workerCount = LoopResources.DEFAULT_IO_WORKER_COUNT;
+        private String threadPrefix = "openfeign-reactor";
+        private final Map<ChannelOption<?>, Object> options = new LinkedHashMap<>();
+        private final Map<String, ConnectionPoolSettings> targetPoolSettings = new LinkedHashMap<>();
+        private ConnectionPoolSettings poolSettings;
+
+        private Builder() {
+            options.put(ChannelOption.TCP_NODELAY, true);
+        }
+
+        /**
+         * @param preferNative whether epoll or kqueue are used when available, {@code true} by default
+         */
+        public Builder preferNative(final boolean preferNative) {
+            this.preferNative = preferNative;
+            return this;
+        }
+
+        /**
+         * @param workerCount number of event loop threads, number of CPUs (at least 4) by default
+         */
+        public Builder workerCount(final int workerCount) {
+            if (workerCount < 1)
+                throw new IllegalArgumentException("workerCount must be positive");
+            this.workerCount = workerCount;
+            return this;
+        }
+
+        /**
+         * @param threadPrefix name prefix of event loop threads
+         */
+        public Builder threadPrefix(final String threadPrefix) {
+            this.threadPrefix = Objects.requireNonNull(threadPrefix, "threadPrefix must not be null");
+            return this;
+        }
+
+        /**
+         * @param tcpNoDelay whether Nagle's algorithm is disabled, {@code true} by default
+         */
+        public Builder tcpNoDelay(final boolean tcpNoDelay) {
+            return option(ChannelOption.TCP_NODELAY, tcpNoDelay);
+        }
+
+        public Builder connectTimeoutMillis(final int connectTimeoutMillis) {
+            return option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis);
+        }
+
+        /**
+         * Sets channel option such as {@link ChannelOption#SO_KEEPALIVE}, {@link ChannelOption#SO_RCVBUF} or
+         * {@link ChannelOption#SO_SNDBUF}, {@code null} value removes the option.
+         */
+        public <T> Builder option(final ChannelOption<T> option, final T value) {
+            if (value == null) {
+                options.remove(option);
+            } else {
+                options.put(option, value);
+            }
+            return this;
+        }
+
+        /**
+         * @param poolSettings connection pool of targets without own pool settings, Reactor Netty global pool is used
+         *                     if not set
+         */
+        public Builder connectionPool(final ConnectionPoolSettings poolSettings) {
+            this.poolSettings = Objects.requireNonNull(poolSettings, "poolSettings must not be null");
+            return this;
+        }
+
+        /**
+         * @param targetUrl    URL of the target, only scheme and authority (e.g. {@code https://host:8443}) are used
+         * @param poolSettings dedicated connection pool of the target
+         */
+        public Builder connectionPool(final String targetUrl, final ConnectionPoolSettings poolSettings) {
+            targetPoolSettings.put(poolKey(Objects.requireNonNull(targetUrl, "targetUrl must not be null")),
+                    Objects.requireNonNull(poolSettings, "poolSettings must not be null"));
+            return this;
+        }
+
+        public ReactorNettyFeignHttpClient build() {
+            final Transport transport = Transport.select(preferNative);
+            final LoopResources loopResources = LoopResources.create(threadPrefix, workerCount, true);
+            final Map<ChannelOption<?>, Object> channelOptions = new LinkedHashMap<>(options);
+            final List<ConnectionProvider> connectionProviders = new ArrayList<>();
+
+            final HttpClient httpClient;
+            if (poolSettings != null) {
+                final ConnectionProvider provider = poolSettings.newConnectionProvider(threadPrefix);
+                connectionProviders.add(provider);
+                httpClient = configure(HttpClient.create(provider), loopResources, channelOptions);
+            } else {
+                httpClient = configure(HttpClient.create(), loopResources, channelOptions);
+            }
+
+            final Map<String, TargetPool> targetPools = new HashMap<>();
+            targetPoolSettings.forEach((key, settings) -> {
+                final ConnectionProvider provider = settings.newConnectionProvider(threadPrefix + "-" + key);
+                connectionProviders.add(provider);
+                targetPools.put(key, new TargetPool(configure(HttpClient.create(provider), loopResources, channelOptions),
+                        settings));
+            });
+            return new ReactorNettyFeignHttpClient(httpClient, poolSettings, targetPools, transport, loopResources,
+                    connectionProviders);
+        }
+
+        private HttpClient configure(final HttpClient httpClient, final LoopResources loopResources,
+                                     final Map<ChannelOption<?>, Object> channelOptions) {
+            return httpClient.tcpConfiguration(tcpClient -> {
+                tcpClient = tcpClient.runOn(loopResources, preferNative);
+                for (final Map.Entry<ChannelOption<?>, Object> option : channelOptions.entrySet()) {
+                    tcpClient = tcpClient.option(castOption(option.getKey()), option.getValue());
+                }
+                return tcpClient;
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static ChannelOption<Object> castOption(final ChannelOption<?> option) {
+            return (ChannelOption<Object>) option;
+        }
     }
 
 }
@@ -20,25 +20,31 @@
 
 package feign;
 
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.util.MultiValueMap;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.AsyncClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.util.concurrent.ListenableFuture;
 import org.springframework.util.concurrent.SettableListenableFuture;
 import org.springframework.web.client.AsyncRestTemplate;
-import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
+/**
+ * {@link AsyncFeignHttpClient} on top of {@link AsyncRestTemplate} request factory and interceptors. Responses
+ * bypass template error handler and message converters, so non-2xx responses are regular responses with their headers.
+ */
 public final class SpringAsyncRestTemplateFeignHttpClient implements AsyncFeignHttpClient {
+    private static final byte[] EMPTY_BODY = new byte[0];
+
     private final AsyncRestTemplate asyncRestTemplate;
 
     public SpringAsyncRestTemplateFeignHttpClient(final AsyncRestTemplate asyncRestTemplate) {
@@ -49,40 +55,70 @@ public final class SpringAsyncRestTemplateFeignHttpClient implements AsyncFeignH
 
     @Override
     public CompletableFuture<Response> execute(final Request request, final Request.Options options) {
+        return execute(request, options, HttpExchangeListener.NOOP);
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(final Request request, final Request.Options options,
+                                               final HttpExchangeListener listener) {
         SettableListenableFuture<Response> feignResponse = new SettableListenableFuture<>();
-        makeHttpClientRequest(request).addCallback(result -> feignResponse
-                        .set(Response.builder().request(request).status(result.getStatusCode().value()).reason(result.getStatusCode().getReasonPhrase())
-                                .headers(toFeignMap(result.getHeaders())).body(result.getBody()).build()),
-                ex -> {
-                    if (ex instanceof HttpStatusCodeException) {
-                        HttpStatusCodeException e = (HttpStatusCodeException) ex;
+        listener.onStart();
+        final ListenableFuture<ClientHttpResponse> httpResponse;
+        try {
+            httpResponse = makeHttpClientRequest(request);
+        } catch (IOException ex) {
+            feignResponse.setException(ex);
+            return buildCompletableFuture(feignResponse);
+        }
+        httpResponse.addCallback(result -> {
+                    try {
+                        final int status = result.getRawStatusCode();
+                        listener.onResponseHeaders(status);
+                        final byte[] body = readBody(result);
+                        listener.onResponseBody(body.length);
                         feignResponse
-                                .set(Response.builder().request(request).status(e.getStatusCode().value()).reason(e.getStatusCode().getReasonPhrase())
-                                        .headers(new HashMap<>()).body(e.getResponseBodyAsByteArray()).build());
-                    } else {
+                                .set(Response.builder().request(request).status(status).reason(result.getStatusText())
+                                        .headers(toFeignMap(result.getHeaders())).body(body).build());
+                    } catch (IOException | RuntimeException ex) {
                         feignResponse.setException(ex);
+                    } finally {
+                        result.close();
                     }
-                });
+                },
+                feignResponse::setException);
         return buildCompletableFuture(feignResponse);
     }
 
-    private Map<String, Collection<String>> toFeignMap(HttpHeaders httpHeaders) {
-        Map<String, Collection<String>> feignMap = new HashMap<>();
-        if (httpHeaders.size() > 0)
-            httpHeaders.entrySet().forEach(e -> feignMap.put(e.getKey(), e.getValue()));
-        return feignMap;
+    private byte[] readBody(final ClientHttpResponse response) throws IOException {
+        final InputStream body = response.getBody();
+        return body != null ? Util.toByteArray(body) : EMPTY_BODY;
     }
 
-    private ListenableFuture<ResponseEntity<byte[]>> makeHttpClientRequest(final Request request) {
-
-        final MultiValueMap<String, String> headers = new HttpHeaders();
-        request.headers().entrySet().forEach(c -> headers.put(c.getKey(), new ArrayList<>(c.getValue())));
-
-        HttpEntity<?> httpEntity = new HttpEntity(request.requestBody().asBytes(), headers);
+    private Map<String, Collection<String>> toFeignMap(final HttpHeaders httpHeaders) {
+        return ResponseHeaders.of(httpHeaders);
+    }
 
+    private ListenableFuture<ClientHttpResponse> makeHttpClientRequest(final Request request) throws IOException {
         URI uri = UriComponentsBuilder.fromUriString(request.url()).build(true).toUri();
 
-        return asyncRestTemplate.exchange(uri, httpMethodFromString(request.httpMethod().name()), httpEntity, byte[].class);
+        // factory is wrapped with template interceptors if there are any
+        final AsyncClientHttpRequest httpRequest = asyncRestTemplate.getAsyncRequestFactory()
+                .createAsyncRequest(uri, httpMethodFromString(request.httpMethod().name()));
+        final HttpHeaders headers = httpRequest.getHeaders();
+        request.headers().entrySet().forEach(c -> headers.put(c.getKey(), new ArrayList<>(c.getValue())));
+
+        final byte[] body = request.requestBody().asBytes();
+        if (body != null) {
+            // defaults previously set by ByteArrayHttpMessageConverter
+            if (headers.getContentType() == null) {
+                headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+            }
+            if (headers.getContentLength() < 0) {
+                headers.setContentLength(body.length);
+            }
+            httpRequest.getBody().write(body);
+        }
+        return httpRequest.executeAsync();
     }
 
     private <T> CompletableFuture<T> buildCompletableFuture(final ListenableFuture<T> listenableFuture) {
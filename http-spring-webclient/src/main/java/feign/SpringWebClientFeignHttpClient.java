@@ -0,0 +1,162 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link AsyncFeignHttpClient} on top of Spring {@link WebClient}. Non-2xx responses are regular responses,
+ * request body is sent as a wrapping {@link DataBuffer} and response body is read from the joined buffer.
+ */
+public final class SpringWebClientFeignHttpClient implements AsyncFeignHttpClient {
+
+    static final int DEFAULT_MAX_CONNECTIONS = 500;
+
+    private static final DataBufferFactory BUFFER_FACTORY = new DefaultDataBufferFactory();
+
+    private final WebClient webClient;
+
+    /**
+     * Creates client on Reactor Netty connector with fixed connection pool of {@value #DEFAULT_MAX_CONNECTIONS} connections.
+     */
+    public SpringWebClientFeignHttpClient() {
+        this(WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(
+                        HttpClient.create(ConnectionProvider.fixed("openfeign-webclient", DEFAULT_MAX_CONNECTIONS))))
+                .build());
+    }
+
+    public SpringWebClientFeignHttpClient(final WebClient webClient) {
+        if (webClient == null)
+            throw new IllegalArgumentException("WebClient instance must not be null");
+        this.webClient = webClient;
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(final Request request, final Request.Options options) {
+        return execute(request, options, HttpExchangeListener.NOOP);
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(final Request request, final Request.Options options,
+                                               final HttpExchangeListener listener) {
+        return makeHttpClientRequest(request, listener).toFuture();
+    }
+
+    /**
+     * Sends {@code connections} concurrent {@code HEAD} requests to {@code url}, connections are returned
+     * to the pool whatever the response status is.
+     */
+    @Override
+    public CompletableFuture<Void> warmUp(final String url, final int connections) {
+        return Flux.range(0, connections)
+                .flatMap(i -> webClient.head().uri(URI.create(url)).exchange()
+                        .flatMap(response -> response.bodyToMono(Void.class)), connections)
+                .then()
+                .toFuture();
+    }
+
+    /**
+     * Request is built on subscription, so invalid method or URL fails returned future instead of
+     * being thrown by {@code execute}.
+     */
+    private Mono<Response> makeHttpClientRequest(final Request request, final HttpExchangeListener listener) {
+        return Mono.defer(() -> exchange(request, listener));
+    }
+
+    private Mono<Response> exchange(final Request request, final HttpExchangeListener listener) {
+        final HttpMethod method = HttpMethod.resolve(request.httpMethod().name());
+        if (method == null) {
+            throw new IllegalArgumentException("HTTP method " + request.httpMethod() + " is not supported by WebClient");
+        }
+        final byte[] body = request.requestBody().asBytes();
+        final WebClient.RequestBodySpec spec = webClient
+                .method(method)
+                .uri(URI.create(request.url()))
+                .headers(h -> request.headers().forEach((name, values) -> h.put(name, new ArrayList<>(values))));
+        if (body != null && body.length > 0) {
+            spec.body(BodyInserters.fromDataBuffers(Mono.just(BUFFER_FACTORY.wrap(body))));
+        }
+        return spec.exchange()
+                .flatMap(clientResponse -> {
+                    listener.onResponseHeaders(clientResponse.rawStatusCode());
+                    return toFeignResponse(request, clientResponse, listener);
+                })
+                // transport failures are reported as they are by other back-ends
+                .onErrorMap(WebClientException.class, ex -> ex.getCause() != null ? ex.getCause() : ex)
+                .doOnSubscribe(s -> listener.onStart());
+    }
+
+    private Mono<Response> toFeignResponse(final Request request, final ClientResponse clientResponse,
+                                           final HttpExchangeListener listener) {
+        final int status = clientResponse.rawStatusCode();
+        final HttpStatus httpStatus = HttpStatus.resolve(status);
+        final Map<String, Collection<String>> headers = toFeignMap(clientResponse.headers().asHttpHeaders());
+        return DataBufferUtils.join(clientResponse.body(BodyExtractors.toDataBuffers()))
+                .map(this::toByteArray)
+                .defaultIfEmpty(new byte[]{})
+                .map(bytes -> {
+                    listener.onResponseBody(bytes.length);
+                    return Response.builder()
+                            .request(request)
+                            .status(status)
+                            .reason(httpStatus != null ? httpStatus.getReasonPhrase() : null)
+                            .headers(headers)
+                            .body(bytes).build();
+                });
+    }
+
+    private byte[] toByteArray(final DataBuffer dataBuffer) {
+        try {
+            final byte[] bytes = new byte[dataBuffer.readableByteCount()];
+            dataBuffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(dataBuffer);
+        }
+    }
+
+    private Map<String, Collection<String>> toFeignMap(final HttpHeaders httpHeaders) {
+        return ResponseHeaders.of(httpHeaders);
+    }
+}
@@ -20,9 +20,12 @@
 
 package feign;
 
+import lombok.Getter;
+
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -41,6 +44,10 @@ public class AsyncDelegatingContract implements Contract {
         this.delegate = checkNotNull(delegate, "delegate must not be null");
     }
 
+    public Contract getDelegate() {
+        return delegate;
+    }
+
     @Override
     public List<MethodMetadata> parseAndValidatateMetadata(final Class<?> targetType) {
         final List<MethodMetadata> metadatas = this.delegate.parseAndValidatateMetadata(targetType);
@@ -62,7 +69,19 @@ public class AsyncDelegatingContract implements Contract {
     }
 
     public Map<String, FallbackMethodHandler> getFallbacks(final Class<?> cls) {
+        return getFallbackIndex(cls).getByConfigKey();
+    }
+
+    /**
+     * Resolves fallbacks of the contract indexed both by config key of the original method
+     * and by fallback method, several original methods may share the same fallback method.
+     *
+     * @param cls contract
+     * @return fallbacks index
+     */
+    public FallbackIndex getFallbackIndex(final Class<?> cls) {
         final Map<String, FallbackMethodHandler> fallbacks = new HashMap<>();
+        final Map<Method, List<FallbackMethodHandler>> fallbackMethods = new HashMap<>();
         final Map<String, Method> methodsCache = Arrays.stream(cls.getMethods())
                 .collect(Collectors.toMap(Method::getName, Function.identity()));
 
@@ -78,11 +97,42 @@ public class AsyncDelegatingContract implements Contract {
                     throw new IllegalStateException(
                             String.format("Method %s of contract %s doesn't have right fallback method", srcMethod, cls));
                 }
-                fallbacks.put(Feign.configKey(cls, srcMethod), new FallbackMethodHandler(fallbackMethod, fallback));
+                final FallbackMethodHandler handler = new FallbackMethodHandler(fallbackMethod, fallback);
+                fallbacks.put(Feign.configKey(cls, srcMethod), handler);
+                fallbackMethods.computeIfAbsent(fallbackMethod, method -> new ArrayList<>(1)).add(handler);
             }
         }
 
-        return fallbacks;
+        return new FallbackIndex(fallbacks, fallbackMethods);
+    }
+
+    @Getter
+    public static final class FallbackIndex {
+        private final Map<String, FallbackMethodHandler> byConfigKey;
+        private final Map<Method, List<FallbackMethodHandler>> byFallbackMethod;
+
+        FallbackIndex(final Map<String, FallbackMethodHandler> byConfigKey,
+                      final Map<Method, List<FallbackMethodHandler>> byFallbackMethod) {
+            this.byConfigKey = byConfigKey;
+            this.byFallbackMethod = byFallbackMethod;
+        }
+
+        /**
+         * Fallback handlers get bound to default methods of a client instance, so every client
+         * needs own handlers.
+         *
+         * @return index of unbound copies of the handlers
+         */
+        FallbackIndex copy() {
+            final Map<String, FallbackMethodHandler> handlers = new HashMap<>(byConfigKey.size() * 2);
+            final Map<Method, List<FallbackMethodHandler>> fallbackMethods = new HashMap<>(byFallbackMethod.size() * 2);
+            for (final Map.Entry<String, FallbackMethodHandler> entry : byConfigKey.entrySet()) {
+                final FallbackMethodHandler handler = new FallbackMethodHandler(entry.getValue());
+                handlers.put(entry.getKey(), handler);
+                fallbackMethods.computeIfAbsent(handler.getFallbackMethod(), method -> new ArrayList<>(1)).add(handler);
+            }
+            return new FallbackIndex(handlers, fallbackMethods);
+        }
     }
 
     private boolean lastArgumentIsNotThrowable(final Method method) {
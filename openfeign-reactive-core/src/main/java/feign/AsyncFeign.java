@@ -33,12 +33,18 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static feign.Util.checkNotNull;
 import static feign.Util.isDefault;
 
 @Slf4j
 public class AsyncFeign extends Feign {
+    /**
+     * Shared so that parsed contracts are cached across builders, see {@link ContractMetadataCache}.
+     */
+    private static final Contract DEFAULT_CONTRACT = new Contract.Default();
+
     private final ParseHandlersByName targetToHandlersByName;
     private final InvocationHandlerFactory factory;
 
@@ -52,22 +58,123 @@ public class AsyncFeign extends Feign {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T newInstance(Target<T> target) {
         final HandlersDescriptor handlersDescriptor = targetToHandlersByName.apply(target);
+        return newInstance(target, handlersDescriptor.getConfigKeyToMethodHandlerMap(),
+                handlersDescriptor.getFallbackMethodToHandlersMap(), factory);
+    }
+
+    /**
+     * Creates client of another target sharing method handlers state of the given client: parsed templates,
+     * codecs, interceptors, options and retry scheduler. Circuit breaker and retry state are per client.
+     *
+     * @param client client created by {@link AsyncFeign}
+     * @param url    base URL of the new client
+     * @param <T>    class of API interface
+     * @return new client
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T derive(final T client, final String url) {
+        final Class<T> type = (Class<T>) targetOf(client).type();
+        return derive(client, newTarget(type, url), false);
+    }
+
+    /**
+     * Creates client of another target sharing method handlers state of the given client: parsed templates,
+     * codecs, interceptors, options and retry scheduler. Circuit breaker and retry state are per client.
+     *
+     * @param client client created by {@link AsyncFeign}
+     * @param target target of the new client
+     * @param <T>    class of API interface
+     * @return new client
+     */
+    public static <T> T derive(final T client, final Target<T> target) {
+        return derive(client, target, false);
+    }
+
+    /**
+     * Creates client of another target sharing method handlers state of the given client: parsed templates,
+     * codecs, interceptors, options and retry scheduler.
+     *
+     * @param client          client created by {@link AsyncFeign}
+     * @param target          target of the new client
+     * @param shareResilience whether the new client shares circuit breaker and retry state with the given client
+     * @param <T>             class of API interface
+     * @return new client
+     */
+    public static <T> T derive(final T client, final Target<T> target, final boolean shareResilience) {
+        checkNotNull(target, "target must not be null");
+        if (!target.type().isInstance(client)) {
+            throw new IllegalArgumentException(String.format("Client %s isn't %s", client, target.type()));
+        }
+
+        final Map<String, MethodHandler> nameToHandler = new LinkedHashMap<>();
+        final Map<Method, List<FallbackMethodHandler>> fallbackMethodToHandlers = new HashMap<>();
+        for (final MethodHandler handler : handlersOf(client)) {
+            if (handler instanceof DerivableMethodHandler) {
+                final DerivableMethodHandler prototype = (DerivableMethodHandler) handler;
+                final FallbackMethodHandler fallback = prototype.getFallback() != null
+                        ? new FallbackMethodHandler(prototype.getFallback()) : null;
+                nameToHandler.put(prototype.getConfigKey(), prototype.derive(target, shareResilience, fallback));
+                if (fallback != null) {
+                    fallbackMethodToHandlers.computeIfAbsent(fallback.getFallbackMethod(), method -> new ArrayList<>(1))
+                            .add(fallback);
+                }
+            }
+        }
+
+        return newInstance(target, nameToHandler, fallbackMethodToHandlers, new AsyncInvocationHandler.Factory());
+    }
+
+    /**
+     * Warms up the given client without pre-connecting, see {@link #warmUp(Object, int)}.
+     *
+     * @param client client created by {@link AsyncFeign}
+     * @return completed future
+     */
+    public static CompletableFuture<Void> warmUp(final Object client) {
+        return warmUp(client, 0);
+    }
+
+    /**
+     * Warms up the given client before traffic arrives: materializes lazy method handlers, runs template building,
+     * interceptors, encoder and decoder of every method with synthetic arguments and pre-establishes connections
+     * to the target URL, which includes DNS resolution and TLS handshake. Failures of synthetic invocations are
+     * logged at debug level and ignored.
+     *
+     * @param client      client created by {@link AsyncFeign}
+     * @param connections number of connections to establish, see {@link AsyncFeignHttpClient#warmUp(String, int)}
+     * @return future completed once connections are established
+     */
+    public static CompletableFuture<Void> warmUp(final Object client, final int connections) {
+        if (connections < 0) {
+            throw new IllegalArgumentException("connections must not be negative");
+        }
+        return ClientWarmUp.warmUp(targetOf(client), handlersOf(client), connections);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T newInstance(final Target<T> target, final Map<String, MethodHandler> nameToHandler,
+                                     final Map<Method, List<FallbackMethodHandler>> fallbackMethodToHandlers,
+                                     final InvocationHandlerFactory factory) {
+        final T generated = GeneratedAsyncClient.newInstance(target, nameToHandler);
+        if (generated != null) {
+            bindFallbacks(target, fallbackMethodToHandlers, (GeneratedAsyncClient) generated);
+            return generated;
+        }
 
-        final Map<String, MethodHandler> nameToHandler = handlersDescriptor.getConfigKeyToMethodHandlerMap();
-        final Map<Method, MethodHandler> methodToHandler = new LinkedHashMap<>();
-        final List<DefaultMethodHandler> defaultMethodHandlers = new LinkedList<>();
+        final Method[] methods = target.type().getMethods();
+        final Map<Method, MethodHandler> methodToHandler = new LinkedHashMap<>(methods.length * 2);
+        final List<DefaultMethodHandler> defaultMethodHandlers = new ArrayList<>();
 
-        for (final Method method : target.type().getMethods()) {
+        for (final Method method : methods) {
             if (isDefault(method)) {
                 final DefaultMethodHandler handler = new DefaultMethodHandler(method);
                 defaultMethodHandlers.add(handler);
                 methodToHandler.put(method, handler);
 
-                final FallbackMethodHandler fmh = getFallbackMethod(handlersDescriptor, method);
-                if (fmh != null) {
+                for (final FallbackMethodHandler fmh : fallbackMethodToHandlers.getOrDefault(method,
+                        Collections.emptyList())) {
                     fmh.setDefaultMethodHandler(handler);
                 }
             } else {
@@ -85,17 +192,67 @@ public class AsyncFeign extends Feign {
         return proxy;
     }
 
+    private static void bindFallbacks(final Target<?> target,
+                                      final Map<Method, List<FallbackMethodHandler>> fallbackMethodToHandlers,
+                                      final GeneratedAsyncClient client) {
+        for (final Map.Entry<Method, List<FallbackMethodHandler>> entry : fallbackMethodToHandlers.entrySet()) {
+            final String configKey = Feign.configKey(target.type(), entry.getKey());
+            final MethodHandler handler = client.defaultMethodHandler(configKey);
+            if (handler == null) {
+                throw new IllegalStateException(String.format(
+                        "Generated client %s has no default method %s, it must be recompiled", client.getClass(), configKey));
+            }
+            for (final FallbackMethodHandler fallback : entry.getValue()) {
+                fallback.setDefaultMethodHandler(handler);
+            }
+        }
+    }
+
+    /**
+     * @return {@link UnixDomainSocketTarget} for {@code unix:} URLs, {@link Target.HardCodedTarget} otherwise
+     */
+    private static <T> Target<T> newTarget(final Class<T> type, final String url) {
+        return UnixDomainSocketTarget.isUnixDomainSocketUrl(url) ? new UnixDomainSocketTarget<>(type, url)
+                : new Target.HardCodedTarget<>(type, url);
+    }
+
+    private static Target<?> targetOf(final Object client) {
+        if (client instanceof GeneratedAsyncClient) {
+            return ((GeneratedAsyncClient) client).getTarget();
+        }
+        return asyncInvocationHandlerOf(client).getTarget();
+    }
+
+    private static Collection<MethodHandler> handlersOf(final Object client) {
+        if (client instanceof GeneratedAsyncClient) {
+            return ((GeneratedAsyncClient) client).getHandlers().values();
+        }
+        return asyncInvocationHandlerOf(client).getHandlers();
+    }
+
+    private static AsyncInvocationHandler asyncInvocationHandlerOf(final Object client) {
+        checkNotNull(client, "client must not be null");
+        if (Proxy.isProxyClass(client.getClass())) {
+            final InvocationHandler handler = Proxy.getInvocationHandler(client);
+            if (handler instanceof AsyncInvocationHandler) {
+                return (AsyncInvocationHandler) handler;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Client %s wasn't created by AsyncFeign", client));
+    }
+
     public FallbackMethodHandler getFallbackMethod(final HandlersDescriptor handlersDescriptor, final Method method) {
-        return handlersDescriptor.originalToFallbackMethodMap.values().stream()
-                .filter(fm -> fm.getFallbackMethod().equals(method)).findFirst().orElse(null);
+        final List<FallbackMethodHandler> fallbacks = handlersDescriptor.fallbackMethodToHandlersMap.get(method);
+        return fallbacks == null || fallbacks.isEmpty() ? null : fallbacks.get(0);
     }
 
     @SuppressWarnings("PMD")
     public static final class Builder extends Feign.Builder {
         private final List<RequestInterceptor> requestInterceptors = new ArrayList<>();
+        private final Map<String, Long> maxResponseBodySizes = new HashMap<>();
         private AsyncFeignHttpClient asyncFeignHttpClient;
         private Logger.Level logLevel = Logger.Level.NONE;
-        private Contract contract = new AsyncDelegatingContract(new Contract.Default());
+        private Contract contract = new AsyncDelegatingContract(DEFAULT_CONTRACT);
         private AsyncFeignHttpClient client;
         private Retryer retryer = new Retryer.Default();
         private CircuitBreakerConfig circuitBreakerConfig;
@@ -106,7 +263,13 @@ public class AsyncFeign extends Feign {
         private ErrorDecoder errorDecoder = new ErrorDecoder.Default();
         private Request.Options options = new Request.Options();
         private InvocationHandlerFactory invocationHandlerFactory = new AsyncInvocationHandler.Factory();
+        private FeignMetrics metrics = new SlowCallLoggingMetrics();
+        private FeignTracer tracer = FeignTracer.NOOP;
         private boolean decode404;
+        private Compression compression;
+        private long maxResponseBodySize = -1;
+        private boolean lazyMethodHandlers;
+        private Set<String> eagerMethodHandlers = Collections.emptySet();
 
         /**
          * Unsupported operation.
@@ -151,7 +314,8 @@ public class AsyncFeign extends Feign {
 
         /**
          * Sets contract. Provided contract will be wrapped in
-         * {@link AsyncDelegatingContract}
+         * {@link AsyncDelegatingContract}. Parsed interfaces are cached per contract instance,
+         * so reuse the instance across builders.
          *
          * @param contract contract.
          * @return this builder
@@ -277,13 +441,13 @@ public class AsyncFeign extends Feign {
          * Defines target and builds client.
          *
          * @param apiType API interface
-         * @param url     base URL
+         * @param url     base URL, {@code unix:} URL targets a Unix domain socket, see {@link UnixDomainSocketTarget}
          * @param <T>     class of API interface
          * @return built client
          */
         @Override
         public <T> T target(final Class<T> apiType, final String url) {
-            return target(new Target.HardCodedTarget<>(apiType, url));
+            return target(newTarget(apiType, url));
         }
 
         /**
@@ -308,14 +472,91 @@ public class AsyncFeign extends Feign {
             return this;
         }
 
+        /**
+         * Sets metrics recorder. Defaults to {@link SlowCallLoggingMetrics}.
+         * Use {@link FeignMetricsRegistry} to collect per method latency histograms and counters.
+         *
+         * @param metrics metrics recorder
+         * @return this builder
+         */
+        public Builder metrics(final FeignMetrics metrics) {
+            this.metrics = checkNotNull(metrics, "metrics must not be null");
+            return this;
+        }
+
+        /**
+         * Sets tracer starting a client span per call. Calls aren't traced by default.
+         * Use {@link W3CFeignTracer} to propagate W3C trace context.
+         *
+         * @param tracer client calls tracer
+         * @return this builder
+         */
+        public Builder tracer(final FeignTracer tracer) {
+            this.tracer = checkNotNull(tracer, "tracer must not be null");
+            return this;
+        }
+
+        /**
+         * Enables transparent gzip compression of responses and, if configured, request bodies.
+         * Calls aren't compressed by default.
+         *
+         * @param compression compression settings, see {@link Compression#gzip()}
+         * @return this builder
+         */
+        public Builder compression(final Compression compression) {
+            this.compression = checkNotNull(compression, "compression must not be null");
+            return this;
+        }
+
+        /**
+         * Limits size of response bodies aggregated for decoding, calls with larger bodies fail with
+         * {@link ResponseBodyTooLargeException}. Bodies are unlimited by default.
+         *
+         * @param maxBytes maximal body size, unlimited if negative
+         * @return this builder
+         */
+        public Builder maxResponseBodySize(final long maxBytes) {
+            this.maxResponseBodySize = maxBytes;
+            return this;
+        }
+
+        /**
+         * Limits size of response bodies aggregated for decoding for the given method.
+         *
+         * @param configKey method config key, see {@link Feign#configKey(Class, Method)}
+         * @param maxBytes  maximal body size, unlimited if negative
+         * @return this builder
+         */
+        public Builder maxResponseBodySize(final String configKey, final long maxBytes) {
+            this.maxResponseBodySizes.put(checkNotNull(configKey, "configKey must not be null"), maxBytes);
+            return this;
+        }
+
+        /**
+         * Materializes method handlers, including circuit breakers and retry schedulers, on first
+         * invocation of the method instead of when the client is created. Useful for large interfaces
+         * of which a service calls a few methods.
+         *
+         * @param eagerConfigKeys config keys of methods to materialize when the client is created anyway,
+         *                        see {@link Feign#configKey(Class, Method)}
+         * @return this builder
+         */
+        public Builder lazyMethodHandlers(final String... eagerConfigKeys) {
+            this.lazyMethodHandlers = true;
+            this.eagerMethodHandlers = new HashSet<>(Arrays.asList(eagerConfigKeys));
+            return this;
+        }
+
         @Override
         public AsyncFeign build() {
             checkNotNull(this.asyncFeignHttpClient, "AsyncFeignHttpClient instance wasn't provided in AsyncFeign builder");
 
             final AsyncMethodHandler.Factory methodHandlerFactory = new AsyncMethodHandler.Factory(asyncFeignHttpClient, retryer,
-                    requestInterceptors, logger, logLevel, decode404, circuitBreakerConfig);
+                    requestInterceptors, logger, logLevel, decode404, circuitBreakerConfig, metrics, tracer, compression,
+                    maxResponseBodySize, new HashMap<>(maxResponseBodySizes));
             final ParseHandlersByName handlersByName = new ParseHandlersByName(contract, options, encoder, decoder,
-                    errorDecoder, circuitBreakerConfig, retryConfig, methodHandlerFactory);
+                    errorDecoder, circuitBreakerConfig, retryConfig, methodHandlerFactory, lazyMethodHandlers,
+                    eagerMethodHandlers);
             return new AsyncFeign(handlersByName, invocationHandlerFactory);
         }
     }
@@ -329,10 +570,15 @@ public class AsyncFeign extends Feign {
         private final CircuitBreakerConfig circuitBreakerConfig;
         private final RetryConfig retryConfig;
         private final AsyncMethodHandler.Factory factory;
+        private final boolean lazyMethodHandlers;
+        private final Set<String> eagerMethodHandlers;
 
         ParseHandlersByName(final Contract contract, final Request.Options options, final Encoder encoder,
                             final Decoder decoder, final ErrorDecoder errorDecoder, final CircuitBreakerConfig circuitBreakerConfig,
-                            final RetryConfig retryConfig, final AsyncMethodHandler.Factory factory) {
+                            final RetryConfig retryConfig, final AsyncMethodHandler.Factory factory,
+                            final boolean lazyMethodHandlers, final Set<String> eagerMethodHandlers) {
+            this.lazyMethodHandlers = lazyMethodHandlers;
+            this.eagerMethodHandlers = eagerMethodHandlers;
             this.contract = contract;
             this.options = options;
             this.factory = factory;
@@ -344,33 +590,41 @@ public class AsyncFeign extends Feign {
         }
 
         HandlersDescriptor apply(final Target key) {
-            final List<MethodMetadata> metadata = contract.parseAndValidatateMetadata(key.type());
-            final Map<String, FallbackMethodHandler> originalToFallbackMap = ((AsyncDelegatingContract) contract)
-                    .getFallbacks(key.type());
+            final ContractMetadataCache.Entry parsed = ContractMetadataCache.get((AsyncDelegatingContract) contract, key.type());
+            final List<MethodMetadata> metadata = parsed.getMetadata();
+            final AsyncDelegatingContract.FallbackIndex fallbackIndex = parsed.getFallbacks().copy();
+            final Map<String, FallbackMethodHandler> originalToFallbackMap = fallbackIndex.getByConfigKey();
             final Map<String, MethodHandler> configKeyToMethodHandlerMap = new LinkedHashMap<>();
 
             for (final MethodMetadata md : metadata) {
-                BuildTemplateByResolvingArgs buildTemplate;
-
-                if (!md.formParams().isEmpty() && md.template().bodyTemplate() == null) {
-                    buildTemplate = new BuildTemplateByResolvingArgs.BuildFormEncodedTemplateFromArgs(md, encoder);
-                } else if (md.bodyIndex() != null) {
-                    buildTemplate = new BuildTemplateByResolvingArgs.BuildEncodedTemplateFromArgs(md, encoder);
-                } else {
-                    buildTemplate = new BuildTemplateByResolvingArgs(md);
-                }
-
                 final FallbackMethodHandler fallback = originalToFallbackMap.get(md.configKey());
-                log.info("Detected method [{}] fallback [{}]. if [null] there is no fallback defined for the method",
+                log.debug("Detected method [{}] fallback [{}]. if [null] there is no fallback defined for the method",
                         md.configKey(), fallback);
-
-                configKeyToMethodHandlerMap.put(md.configKey(), factory.create(key, fallback, md, buildTemplate, options,
-                        decoder, errorDecoder, circuitBreakerConfig, retryConfig));
+                final MethodHandler handler = lazyMethodHandlers && !eagerMethodHandlers.contains(md.configKey())
+                        ? new LazyMethodHandler(md.configKey(), fallback, () -> createHandler(key, md, fallback))
+                        : createHandler(key, md, fallback);
+                configKeyToMethodHandlerMap.put(md.configKey(), handler);
             }
 
             return HandlersDescriptor.builder().originalToFallbackMethodMap(originalToFallbackMap)
+                    .fallbackMethodToHandlersMap(fallbackIndex.getByFallbackMethod())
                     .configKeyToMethodHandlerMap(configKeyToMethodHandlerMap).build();
         }
+
+        private MethodHandler createHandler(final Target key, final MethodMetadata md, final FallbackMethodHandler fallback) {
+            BuildTemplateByResolvingArgs buildTemplate;
+
+            if (!md.formParams().isEmpty() && md.template().bodyTemplate() == null) {
+                buildTemplate = new BuildTemplateByResolvingArgs.BuildFormEncodedTemplateFromArgs(md, encoder);
+            } else if (md.bodyIndex() != null) {
+                buildTemplate = new BuildTemplateByResolvingArgs.BuildEncodedTemplateFromArgs(md, encoder);
+            } else {
+                buildTemplate = new BuildTemplateByResolvingArgs(md);
+            }
+
+            return factory.create(key, fallback, md, buildTemplate, options, decoder, errorDecoder, circuitBreakerConfig,
+                    retryConfig);
+        }
     }
 
     @lombok.Builder
@@ -378,5 +632,6 @@ public class AsyncFeign extends Feign {
     public static final class HandlersDescriptor {
         private Map<String, MethodHandler> configKeyToMethodHandlerMap;
         private Map<String, FallbackMethodHandler> originalToFallbackMethodMap;
+        private Map<Method, List<FallbackMethodHandler>> fallbackMethodToHandlersMap;
     }
 }
@@ -25,6 +25,8 @@ import feign.InvocationHandlerFactory.MethodHandler;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -33,29 +35,55 @@ import static feign.Util.checkNotNull;
 /**
  * {@link InvocationHandler} implementation that transforms calls to methods of
  * feign contract into asynchronous HTTP requests via AsyncFeignHttpClient.
+ * <p>
+ * Handlers are kept in an array indexed by method ordinal. Proxy passes the same {@link Method}
+ * instance on every call of a method, so the ordinal is resolved once per instance and then found
+ * by identity in an open addressing table.
  */
 final class AsyncInvocationHandler implements InvocationHandler {
 
+    private static final Method EQUALS = objectMethod("equals", Object.class);
+    private static final Method HASH_CODE = objectMethod("hashCode");
+    private static final Method TO_STRING = objectMethod("toString");
+
     private final Target<?> target;
-    private final Map<Method, MethodHandler> dispatch;
+    private final Method[] methods;
+    private final MethodHandler[] handlers;
+    private final Entry[] index;
 
     private AsyncInvocationHandler(final Target<?> target, final Map<Method, MethodHandler> dispatch) {
         this.target = checkNotNull(target, "target must not be null");
-        this.dispatch = checkNotNull(dispatch, "dispatch must not be null");
+        checkNotNull(dispatch, "dispatch must not be null");
+        this.methods = dispatch.keySet().toArray(new Method[0]);
+        this.handlers = dispatch.values().toArray(new MethodHandler[0]);
+        // Object methods are dispatched separately, proxy passes up to one instance per method
+        this.index = new Entry[Integer.highestOneBit(Math.max(methods.length, 1) * 4 - 1) << 1];
     }
 
     @Override
     public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
-        switch (method.getName()) {
-            case "equals":
-                final Object otherHandler = args.length > 0 && args[0] != null ? Proxy.getInvocationHandler(args[0]) : null;
+        if (method.getDeclaringClass() == Object.class) {
+            if (EQUALS.equals(method)) {
+                final Object otherHandler = args[0] != null && Proxy.isProxyClass(args[0].getClass())
+                        ? Proxy.getInvocationHandler(args[0]) : null;
                 return equals(otherHandler);
-            case "hashCode":
+            }
+            if (HASH_CODE.equals(method)) {
                 return hashCode();
-            case "toString":
+            }
+            if (TO_STRING.equals(method)) {
                 return toString();
-            default:
-                return invokeRequestMethod(method, args);
+            }
+            throw new UnsupportedOperationException("Unexpected Object method " + method);
+        }
+        return invokeRequestMethod(method, args);
+    }
+
+    private static Method objectMethod(final String name, final Class<?>... parameterTypes) {
+        try {
+            return Object.class.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException(ex);
         }
     }
 
@@ -69,7 +97,7 @@ final class AsyncInvocationHandler implements InvocationHandler {
      */
     private Object invokeRequestMethod(final Method method, final Object[] args) {
         try {
-            return dispatch.get(method).invoke(args);
+            return handlers[ordinal(method)].invoke(args);
         } catch (Throwable throwable) {
             if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
                 final CompletableFuture<?> completableFuture = new CompletableFuture<>();
@@ -80,6 +108,47 @@ final class AsyncInvocationHandler implements InvocationHandler {
         }
     }
 
+    /**
+     * Finds ordinal of the method. Table is filled in racily: entries are immutable, so concurrent
+     * callers may at worst resolve the same method twice.
+     *
+     * @param method invoked method
+     * @return method ordinal
+     */
+    private int ordinal(final Method method) {
+        final int mask = index.length - 1;
+        int slot = System.identityHashCode(method) & mask;
+        for (int probe = 0; probe < index.length; probe++, slot = (slot + 1) & mask) {
+            final Entry entry = index[slot];
+            if (entry == null) {
+                final int ordinal = resolve(method);
+                index[slot] = new Entry(method, ordinal);
+                return ordinal;
+            }
+            if (entry.method == method) {
+                return entry.ordinal;
+            }
+        }
+        return resolve(method);
+    }
+
+    private int resolve(final Method method) {
+        for (int i = 0; i < methods.length; i++) {
+            if (methods[i].equals(method)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Method " + method + " isn't a method of " + target);
+    }
+
+    Target<?> getTarget() {
+        return target;
+    }
+
+    Collection<MethodHandler> getHandlers() {
+        return Arrays.asList(handlers);
+    }
+
     @Override
     public boolean equals(final Object other) {
         if (other instanceof AsyncInvocationHandler) {
@@ -99,6 +168,16 @@ final class AsyncInvocationHandler implements InvocationHandler {
         return target.toString();
     }
 
+    private static final class Entry {
+        private final Method method;
+        private final int ordinal;
+
+        Entry(final Method method, final int ordinal) {
+            this.method = method;
+            this.ordinal = ordinal;
+        }
+    }
+
     static final class Factory implements InvocationHandlerFactory {
 
         @Override
@@ -20,6 +20,7 @@
 
 package feign;
 
+import feign.FeignContext.Phase;
 import feign.InvocationHandlerFactory.MethodHandler;
 import feign.codec.DecodeException;
 import feign.codec.Decoder;
@@ -31,15 +32,15 @@ import io.github.robwin.retry.AsyncRetry;
 import io.github.robwin.retry.RetryConfig;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
-import java.time.Duration;
-import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.function.Supplier;
+import java.util.concurrent.TimeUnit;
 
 import static feign.AsyncUtils.executionTracerIfAny;
 import static feign.AsyncUtils.fallbackIfAny;
@@ -49,7 +50,7 @@ import static java.lang.String.format;
 
 @SuppressWarnings("PMD")
 @Slf4j
-class AsyncMethodHandler implements InvocationHandlerFactory.MethodHandler {
+class AsyncMethodHandler implements DerivableMethodHandler {
     private static final long MAX_RESPONSE_BUFFER_SIZE = 8192L;
 
     private final MethodMetadata metadata;
@@ -69,12 +70,18 @@ class AsyncMethodHandler implements InvocationHandlerFactory.MethodHandler {
     private final CircuitBreaker circuitBreaker;
     private final AsyncRetry retry;
     private final FallbackMethodHandler fallback;
+    private final FeignMethodMetrics metrics;
+    private final FeignTracer tracer;
+    private final Compression compression;
+    private final ResponseBodyHandling responseBodyHandling;
     private ScheduledExecutorService retryScheduler;
 
     private AsyncMethodHandler(Target<?> target, AsyncFeignHttpClient client, Retryer retryer,
                                List<RequestInterceptor> requestInterceptors, Logger logger, Logger.Level logLevel, FallbackMethodHandler fallback,
                                MethodMetadata metadata, RequestTemplate.Factory buildTemplateFromArgs, Request.Options options, Decoder decoder,
-                               ErrorDecoder errorDecoder, boolean decode404, CircuitBreakerConfig circuitBreakerConfig, RetryConfig retryConfig) {
+                               ErrorDecoder errorDecoder, boolean decode404, CircuitBreakerConfig circuitBreakerConfig, RetryConfig retryConfig,
+                               FeignMetrics metrics, FeignTracer tracer, Compression compression,
+                               long maxResponseBodySize) {
         this.target = checkNotNull(target, "target must be not null");
         this.client = checkNotNull(client, "client must be not null");
         this.retryer = checkNotNull(retryer, "retryer for %s must be not null", target);
@@ -95,54 +102,169 @@ class AsyncMethodHandler implements InvocationHandlerFactory.MethodHandler {
         this.retry = retryConfig != null ? AsyncRetry.of(metadata.configKey(), retryConfig) : null;
         if (retry != null)
             retryScheduler = Executors.newSingleThreadScheduledExecutor();
+        this.metrics = checkNotNull(metrics, "metrics for %s must be not null", target).forMethod(metadata);
+        this.tracer = checkNotNull(tracer, "tracer for %s must be not null", target);
+        this.compression = compression;
+        this.responseBodyHandling = responseBodyHandling(metadata, maxResponseBodySize);
+    }
+
+    /**
+     * Creates handler of the same method for another target.
+     *
+     * @param prototype       handler to share state with
+     * @param target          target of the new handler
+     * @param shareResilience whether circuit breaker and retry state are shared with {@code prototype}
+     * @param fallback        fallback of the new handler
+     */
+    private AsyncMethodHandler(final AsyncMethodHandler prototype, final Target<?> target, final boolean shareResilience,
+                               final FallbackMethodHandler fallback) {
+        this.target = checkNotNull(target, "target must be not null");
+        this.client = prototype.client;
+        this.retryer = prototype.retryer;
+        this.requestInterceptors = prototype.requestInterceptors;
+        this.logger = prototype.logger;
+        this.logLevel = prototype.logLevel;
+        this.fallback = fallback;
+        this.metadata = prototype.metadata;
+        this.buildTemplateFromArgs = prototype.buildTemplateFromArgs;
+        this.options = prototype.options;
+        this.errorDecoder = prototype.errorDecoder;
+        this.decoder = prototype.decoder;
+        this.decode404 = prototype.decode404;
+        this.circuitBreakerConfig = prototype.circuitBreakerConfig;
+        this.retryConfig = prototype.retryConfig;
+        if (shareResilience) {
+            this.circuitBreaker = prototype.circuitBreaker;
+            this.retry = prototype.retry;
+        } else {
+            this.circuitBreaker = circuitBreakerConfig != null ? CircuitBreaker.of(metadata.configKey(), circuitBreakerConfig)
+                    : null;
+            this.retry = retryConfig != null ? AsyncRetry.of(metadata.configKey(), retryConfig) : null;
+        }
+        this.retryScheduler = prototype.retryScheduler;
+        this.metrics = prototype.metrics;
+        this.tracer = prototype.tracer;
+        this.compression = prototype.compression;
+        this.responseBodyHandling = prototype.responseBodyHandling;
+    }
+
+    /**
+     * Parsed template, codecs, interceptors, metrics and retry scheduler are shared with the new handler.
+     */
+    @Override
+    public AsyncMethodHandler derive(final Target<?> target, final boolean shareResilience,
+                                     final FallbackMethodHandler fallback) {
+        return new AsyncMethodHandler(this, target, shareResilience, fallback);
+    }
+
+    @Override
+    public String getConfigKey() {
+        return metadata.configKey();
+    }
+
+    @Override
+    public FallbackMethodHandler getFallback() {
+        return fallback;
+    }
+
+    AsyncFeignHttpClient getClient() {
+        return client;
+    }
+
+    /**
+     * Runs template building, interceptors, encoder and decoder of the method without sending a request,
+     * decoder is given an empty successful response.
+     *
+     * @param argv synthetic method arguments
+     * @throws Exception if any of the stages fails with {@code argv}
+     */
+    void warmUp(final Object[] argv) throws Exception {
+        final FeignContext context = new FeignContext();
+        final Request request = targetRequest(buildTemplate(argv, context), context);
+        if (Response.class != metadata.returnType() && Void.class != metadata.returnType()) {
+            decoder.decode(Response.builder().request(request)
+                    .status(200)
+                    .reason("OK")
+                    .headers(Collections.emptyMap())
+                    .body(new byte[0]).build(), metadata.returnType());
+        }
     }
 
     @Override
     public CompletableFuture<?> invoke(final Object[] argv) {
+        final long start = System.nanoTime();
+        final FeignContext context = new FeignContext();
 
-        final RequestTemplate template = buildTemplateFromArgs.create(argv);
-        final Request request = targetRequest(template);
-        final CompletableFuture<Object> completableFuture = executeAndDecode(request);
+        final RequestTemplate template = buildTemplate(argv, context);
+        context.setSpan(tracer.startSpan(metadata.configKey(), template));
+        final Request request = targetRequest(template, context);
+
+        if (circuitBreaker != null) {
+            context.setCircuitState(FeignContext.CircuitState.valueOf(circuitBreaker.getState().name()));
+        }
 
-        Supplier<? extends CompletionStage<?>> decorate = null;
+        final CompletableFuture<Object> completableFuture;
         if (circuitBreaker != null || retry != null) {
-            Decorators.DecorateCompletionStage<?> decorateCompletionStage = Decorators
-                    .ofCompletionStage(() -> completableFuture);
+            Decorators.DecorateCompletionStage<Object> decorateCompletionStage = Decorators
+                    .ofCompletionStage(() -> executeAndDecode(request, context));
             if (retry != null) {
                 decorateCompletionStage.withRetry(retry, retryScheduler);
             }
             if (circuitBreaker != null) {
                 decorateCompletionStage.withCircuitBreaker(circuitBreaker);
             }
-            decorate = decorateCompletionStage.decorate();
+            completableFuture = decorateCompletionStage.decorate().get().toCompletableFuture();
+        } else {
+            completableFuture = executeAndDecode(request, context);
         }
 
-        return executionTracerIfAny(request,
-                fallbackIfAny(fallback, decorate != null ? (CompletableFuture<Object>) decorate.get() : completableFuture, argv));
+        return executionTracerIfAny(request, context, start, metrics,
+                fallbackIfAny(fallback, completableFuture, argv, context));
     }
 
     /**
      * Executes request from {@code template} with {@code this.client} and
      * decodes the response. Result or occurred error wrapped in returned Future.
+     * Every invocation is an execution attempt, so retries call this method again.
      *
      * @param request parsed request
+     * @param context call context to record phases into
      * @return future with decoded result or occurred error
      */
-    private CompletableFuture<Object> executeAndDecode(final Request request) {
+    private CompletableFuture<Object> executeAndDecode(final Request request, final FeignContext context) {
         final CompletableFuture<Object> decodedResultFuture = new CompletableFuture();
+        final int attempt = context.nextAttempt();
+        final byte[] body = request.requestBody().asBytes();
+        if (body != null) {
+            context.addBytesSent(body.length);
+        }
 
         logRequest(request);
 
-        final Instant start = Instant.now();
+        final long start = System.nanoTime();
+
+        final HttpExchangeListener listener = new ExchangePhaseRecorder(context, metrics.onAttempt(context, attempt));
+        final RequestBodyWriter bodyWriter = context.getRequestBody();
+        final CompletableFuture<Response> responseFuture = client.execute(request,
+                bodyWriter != null ? countingBytesSent(bodyWriter, context) : null, responseBodyHandling, this.options,
+                listener);
+        responseFuture.whenComplete((res, thr) -> {
+            listener.onComplete(thr);
+
+            Object result = null;
+            Throwable failure = thr;
 
-        client.execute(request, this.options).whenComplete((res, thr) -> {
             if (thr == null) {
                 boolean shouldClose = true;
 
-                final long elapsedTime = Duration.between(start, Instant.now()).toMillis();
+                final long decodeStart = System.nanoTime();
+                final long elapsedTime = TimeUnit.NANOSECONDS.toMillis(decodeStart - start);
 
+                Response response = res;
                 try {
-                    Response response = res;
+                    if (compression != null) {
+                        response = compression.decompress(response);
+                    }
                     // TODO: check why this buffering is needed
                     if (logLevel != Logger.Level.NONE) {
                         response = logger.logAndRebufferResponse(metadata.configKey(), logLevel, response, elapsedTime);
@@ -150,56 +272,155 @@ class AsyncMethodHandler implements InvocationHandlerFactory.MethodHandler {
 
                     if (Response.class == metadata.returnType()) {
                         if (response.body() == null) {
-                            decodedResultFuture.complete(response);
+                            result = response;
                         } else if (response.body().length() == null || response.body().length() > MAX_RESPONSE_BUFFER_SIZE) {
                             shouldClose = false;
-                            decodedResultFuture.complete(response);
+                            result = response;
                         } else {
                             final byte[] bodyData = Util.toByteArray(response.body().asInputStream());
-                            decodedResultFuture
-                                    .complete(Response.builder().request(request)
-                                            .status(response.status())
-                                            .reason(response.reason())
-                                            .headers(response.headers()).body(bodyData).build());
+                            result = Response.builder().request(request)
+                                    .status(response.status())
+                                    .reason(response.reason())
+                                    .headers(response.headers()).body(bodyData).build();
                         }
                     } else if (response.status() >= 200 && response.status() < 300) {
-                        if (Void.class == metadata.returnType()) {
-                            decodedResultFuture.complete(null);
-                        } else {
-                            decodedResultFuture.complete(decode(response));
+                        if (Void.class != metadata.returnType()) {
+                            result = decode(response);
                         }
                     } else if (decode404 && response.status() == 404) {
-                        decodedResultFuture.complete(decoder.decode(response, metadata.returnType()));
+                        result = decoder.decode(response, metadata.returnType());
                     } else {
-                        decodedResultFuture.completeExceptionally(errorDecoder.decode(metadata.configKey(), response));
+                        failure = errorDecoder.decode(metadata.configKey(), response);
                     }
                 } catch (Exception ex) {
-                    decodedResultFuture.completeExceptionally(
-                            new FeignException(500, format("%s reading %s %s", ex.getMessage(), request.httpMethod(), request.url()), ex));
+                    failure = new FeignException(500, format("%s reading %s %s", ex.getMessage(), request.httpMethod(), request.url()), ex);
                 } finally {
                     if (shouldClose) {
                         ensureClosed(res.body());
+                        if (response != res) {
+                            ensureClosed(response.body());
+                        }
                     }
                 }
+                context.recordPhase(Phase.DECODE, decodeStart);
+            }
+
+            if (attempt > 1) {
+                context.recordPhase(Phase.RETRY, start);
+            }
+
+            if (failure == null) {
+                decodedResultFuture.complete(result);
             } else {
-                decodedResultFuture.completeExceptionally(thr);
+                decodedResultFuture.completeExceptionally(failure);
             }
         });
 
         return decodedResultFuture;
     }
 
+    /**
+     * Bodies of {@code Void} methods are never decoded, {@code Response} methods hand the body out as is.
+     *
+     * @param metadata            method metadata
+     * @param maxResponseBodySize maximal size of bodies to decode, unlimited if negative
+     * @return handling of response bodies of the method
+     */
+    static ResponseBodyHandling responseBodyHandling(final MethodMetadata metadata, final long maxResponseBodySize) {
+        if (Response.class == metadata.returnType()) {
+            return ResponseBodyHandling.STREAM;
+        }
+        if (Void.class == metadata.returnType()) {
+            return ResponseBodyHandling.DISCARD;
+        }
+        return ResponseBodyHandling.aggregate(maxResponseBodySize);
+    }
+
+    /**
+     * @return writer adding written body bytes to {@link FeignContext#getBytesSent()}, file bodies are counted
+     * upfront and passed as is for back-ends to transfer them directly
+     */
+    private static RequestBodyWriter countingBytesSent(final RequestBodyWriter bodyWriter, final FeignContext context) {
+        if (bodyWriter instanceof FileBody) {
+            context.addBytesSent(((FileBody) bodyWriter).getCount());
+            return bodyWriter;
+        }
+        return out -> bodyWriter.writeTo(new FilterOutputStream(out) {
+            @Override
+            public void write(final int b) throws IOException {
+                out.write(b);
+                context.addBytesSent(1);
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+                out.write(b, off, len);
+                context.addBytesSent(len);
+            }
+        });
+    }
+
+    /**
+     * Builds request template from method arguments.
+     *
+     * @param argv    method arguments
+     * @param context call context to record phases into
+     * @return request template
+     */
+    private RequestTemplate buildTemplate(final Object[] argv, final FeignContext context) {
+        if (buildTemplateFromArgs instanceof BuildTemplateByResolvingArgs) {
+            return ((BuildTemplateByResolvingArgs) buildTemplateFromArgs).create(argv, context);
+        }
+        final long start = System.nanoTime();
+        final RequestTemplate template = buildTemplateFromArgs.create(argv);
+        context.recordPhase(Phase.TEMPLATE_BUILD, start);
+        return template;
+    }
+
     /**
      * Associates request to defined target.
      *
      * @param template request template
+     * @param context  call context to record phases into
      * @return fully formed request
      */
-    private Request targetRequest(final RequestTemplate template) {
+    private Request targetRequest(final RequestTemplate template, final FeignContext context) {
+        final long start = System.nanoTime();
+        if (compression != null && compression.isResponses() && !template.headers().containsKey(Compression.ACCEPT_ENCODING)) {
+            template.header(Compression.ACCEPT_ENCODING, Compression.GZIP);
+        }
         for (RequestInterceptor interceptor : requestInterceptors) {
             interceptor.apply(template);
         }
-        return target.apply(template);
+        final Request request = target.apply(template);
+        final long end = context.recordPhase(Phase.INTERCEPTORS, start);
+        return compression != null ? compressRequest(request, context, end) : request;
+    }
+
+    /**
+     * Compresses request body, recording {@link Phase#ENCODE} time.
+     *
+     * @param request    request to compress
+     * @param context    call context holding streaming body if any
+     * @param startNanos {@link System#nanoTime()} compression started at
+     * @return request to send
+     */
+    private Request compressRequest(final Request request, final FeignContext context, final long startNanos) {
+        final RequestBodyWriter bodyWriter = context.getRequestBody();
+        Request compressed = request;
+        if (bodyWriter == null) {
+            compressed = compression.compress(request, metadata.configKey());
+        } else {
+            final RequestBodyWriter gzipBodyWriter = compression.compress(request, bodyWriter, metadata.configKey());
+            if (gzipBodyWriter != null) {
+                context.setRequestBody(gzipBodyWriter);
+                compressed = compression.withGzipBody(request);
+            }
+        }
+        if (compressed != request) {
+            context.recordPhase(Phase.ENCODE, startNanos);
+        }
+        return compressed;
     }
 
     /**
@@ -243,10 +464,17 @@ class AsyncMethodHandler implements InvocationHandlerFactory.MethodHandler {
         private final Logger.Level logLevel;
         private final boolean decode404;
         private final CircuitBreakerConfig circuitBreakerConfig;
+        private final FeignMetrics metrics;
+        private final FeignTracer tracer;
+        private final Compression compression;
+        private final long maxResponseBodySize;
+        private final Map<String, Long> maxResponseBodySizes;
 
         Factory(final AsyncFeignHttpClient client, final Retryer retryer, final List<RequestInterceptor> requestInterceptors,
                 final Logger logger, final Logger.Level logLevel, final boolean decode404,
-                CircuitBreakerConfig circuitBreakerConfig) {
+                CircuitBreakerConfig circuitBreakerConfig, final FeignMetrics metrics, final FeignTracer tracer,
+                final Compression compression, final long maxResponseBodySize,
+                final Map<String, Long> maxResponseBodySizes) {
             this.client = checkNotNull(client, "client must not be null");
             this.retryer = checkNotNull(retryer, "retryer must not be null");
             this.requestInterceptors = checkNotNull(requestInterceptors, "requestInterceptors must not be null");
@@ -254,13 +482,19 @@ class AsyncMethodHandler implements InvocationHandlerFactory.MethodHandler {
             this.logLevel = checkNotNull(logLevel, "logLevel must not be null");
             this.decode404 = decode404;
             this.circuitBreakerConfig = circuitBreakerConfig;
+            this.metrics = checkNotNull(metrics, "metrics must not be null");
+            this.tracer = checkNotNull(tracer, "tracer must not be null");
+            this.compression = compression;
+            this.maxResponseBodySize = maxResponseBodySize;
+            this.maxResponseBodySizes = checkNotNull(maxResponseBodySizes, "maxResponseBodySizes must not be null");
         }
 
         MethodHandler create(final Target<?> target, final FallbackMethodHandler fallback, final MethodMetadata metadata,
                              final RequestTemplate.Factory buildTemplateFromArgs, final Request.Options options, final Decoder decoder,
                              final ErrorDecoder errorDecoder, final CircuitBreakerConfig circuitBreakerConfig, final RetryConfig retryConfig) {
             return new AsyncMethodHandler(target, client, retryer, requestInterceptors, logger, logLevel, fallback, metadata,
-                    buildTemplateFromArgs, options, decoder, errorDecoder, decode404, circuitBreakerConfig, retryConfig);
+                    buildTemplateFromArgs, options, decoder, errorDecoder, decode404, circuitBreakerConfig, retryConfig, metrics, tracer,
+                    compression, maxResponseBodySizes.getOrDefault(metadata.configKey(), maxResponseBodySize));
         }
     }
 }
@@ -27,13 +27,16 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public abstract class AsyncUtils {
 
-    private static final long LOG_WARN_THRESHOLD_MS = 2000;
-    private static final long LOG_ERROR_THRESHOLD_MS = 4000;
-
-    private static final String LOG_MSG_TEMPLATE = "Slow network call execution detected: method=[%s], url=[%s], timeMs=[%d], timeSec=[%.2f], exception=[%b]";
+    private static final FeignMethodMetrics DEFAULT_METRICS = new SlowCallLoggingMetrics();
 
     public static <T> CompletableFuture<T> fallbackIfAny(final FallbackMethodHandler fallback,
                                                          final CompletableFuture<T> executionStage, final Object[] argv) {
+        return fallbackIfAny(fallback, executionStage, argv, null);
+    }
+
+    public static <T> CompletableFuture<T> fallbackIfAny(final FallbackMethodHandler fallback,
+                                                         final CompletableFuture<T> executionStage, final Object[] argv,
+                                                         final FeignContext context) {
 
         if (fallback == null) {
             return executionStage;
@@ -43,15 +46,21 @@ public abstract class AsyncUtils {
         executionStage.whenComplete((o, throwable) -> {
             if (throwable == null) {
                 fallbackPromise.complete(o);
+                return;
             }
 
-            if (fallback == null || fallback.isIgnorable(throwable) || fallback.isIgnorablePredicate(throwable)) {
+            if (fallback.isIgnorable(throwable) || fallback.isIgnorablePredicate(throwable)) {
                 fallbackPromise.completeExceptionally(throwable);
             } else {
-                try {
+                final long start = System.nanoTime();
+                if (context != null) {
+                    context.setFallbackUsed(true);
+                }
+                try (FeignSpan.Scope ignored = context != null ? context.getSpan().makeCurrent() : FeignSpan.Scope.NOOP) {
                     log.warn("Attempt to execute fallback [{}]", fallback);
                     final CompletableFuture<T> fallbackExecution = (CompletableFuture<T>) fallback.invoke(argv, throwable);
                     fallbackExecution.whenComplete((t, fth) -> {
+                        recordFallback(context, start);
                         if (fth == null) {
                             log.debug("Fallback executed successfully [{}], result [{}]", fallback, t);
                             fallbackPromise.complete(t);
@@ -61,6 +70,7 @@ public abstract class AsyncUtils {
                         }
                     });
                 } catch (Throwable ex) {
+                    recordFallback(context, start);
                     log.warn("Exception invoking fallback method [{}], exception [{}]", fallback, ex);
                     fallbackPromise.completeExceptionally(ex);
                 }
@@ -72,24 +82,35 @@ public abstract class AsyncUtils {
 
     public static <T> FeignCompletableFuture<T> executionTracerIfAny(final Request request,
                                                                      final CompletableFuture<T> executionStage) {
-        final FeignContext context = getFeignContext(executionStage);
+        return executionTracerIfAny(request, getFeignContext(executionStage), System.nanoTime(), DEFAULT_METRICS,
+                executionStage);
+    }
+
+    /**
+     * Completes call context once execution stage is completed, reports it to metrics and finishes call span.
+     *
+     * @param request        executed request
+     * @param context        call context
+     * @param startNanos     {@link System#nanoTime()} the call started at
+     * @param metrics        method metrics
+     * @param executionStage call execution stage
+     * @param <T>            call result type
+     * @return future exposing call context
+     */
+    public static <T> FeignCompletableFuture<T> executionTracerIfAny(final Request request, final FeignContext context,
+                                                                     final long startNanos, final FeignMethodMetrics metrics,
+                                                                     final CompletableFuture<T> executionStage) {
         final FeignCompletableFuture<T> tracingPromise = new FeignCompletableFuture<>(context);
 
-        long p1Millis = System.currentTimeMillis();
+        metrics.onStart(context);
         executionStage.whenComplete((o, throwable) -> {
-            long p2Millis = System.currentTimeMillis();
-            long totalTime = p2Millis - p1Millis;
-
-            context.setRequest(request).setExecutionMillis(totalTime);
-            if (totalTime >= LOG_WARN_THRESHOLD_MS) {
-                final String frmMsgs = String.format(LOG_MSG_TEMPLATE, request.httpMethod(), request.url(),
-                        totalTime, totalTime / 1000.0, throwable);
-
-                if (totalTime < LOG_ERROR_THRESHOLD_MS)
-                    log.warn(frmMsgs);
-                else
-                    log.error(frmMsgs);
+            context.setRequest(request).setExecutionNanos(System.nanoTime() - startNanos).complete();
+            try {
+                metrics.onComplete(context, throwable);
+            } catch (Exception ex) {
+                log.warn("Exception recording metrics of [{}], exception [{}]", request.url(), ex);
             }
+            context.getSpan().finish(context, throwable);
 
             if (throwable == null)
                 tracingPromise.complete(o);
@@ -100,6 +121,12 @@ public abstract class AsyncUtils {
         return tracingPromise;
     }
 
+    private static void recordFallback(final FeignContext context, final long startNanos) {
+        if (context != null) {
+            context.recordPhase(FeignContext.Phase.FALLBACK, startNanos);
+        }
+    }
+
     private static FeignContext getFeignContext(final CompletableFuture<?> executionStage) {
         return executionStage != null && executionStage instanceof FeignCompletableFuture
                 ? ((FeignCompletableFuture<?>) executionStage).getFeignContext() : new FeignContext();
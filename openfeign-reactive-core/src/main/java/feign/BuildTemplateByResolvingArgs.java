@@ -23,6 +23,10 @@ package feign;
 import feign.codec.EncodeException;
 import feign.codec.Encoder;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 
 import static feign.Util.checkArgument;
@@ -56,6 +60,20 @@ public class BuildTemplateByResolvingArgs implements RequestTemplate.Factory {
 
     @Override
     public RequestTemplate create(Object[] argv) {
+        return create(argv, null);
+    }
+
+    /**
+     * Creates request template recording {@link FeignContext.Phase#TEMPLATE_BUILD} and
+     * {@link FeignContext.Phase#ENCODE} timings into the call context.
+     *
+     * @param argv    method arguments
+     * @param context call context, may be {@code null}
+     * @return resolved request template
+     */
+    public RequestTemplate create(Object[] argv, FeignContext context) {
+        final long start = System.nanoTime();
+        final long encodeNanos = context != null ? context.getPhaseNanos(FeignContext.Phase.ENCODE) : 0L;
         RequestTemplate mutable = RequestTemplate.from(metadata.template());
         if (metadata.urlIndex() != null) {
             int urlIndex = metadata.urlIndex();
@@ -76,7 +94,7 @@ public class BuildTemplateByResolvingArgs implements RequestTemplate.Factory {
             }
         }
 
-        RequestTemplate template = resolve(argv, mutable, varBuilder);
+        RequestTemplate template = resolve(argv, mutable, varBuilder, context);
         if (metadata.queryMapIndex() != null) {
             // add query map parameters after initial resolve so that they take
             // precedence over any predefined values
@@ -87,6 +105,11 @@ public class BuildTemplateByResolvingArgs implements RequestTemplate.Factory {
             template = addHeaderMapHeaders(argv, template);
         }
 
+        if (context != null) {
+            final long elapsed = System.nanoTime() - start;
+            context.addPhaseNanos(FeignContext.Phase.TEMPLATE_BUILD,
+                    elapsed - (context.getPhaseNanos(FeignContext.Phase.ENCODE) - encodeNanos));
+        }
         return template;
     }
 
@@ -138,7 +161,8 @@ public class BuildTemplateByResolvingArgs implements RequestTemplate.Factory {
         return mutable;
     }
 
-    protected RequestTemplate resolve(Object[] argv, RequestTemplate mutable, Map<String, Object> variables) {
+    protected RequestTemplate resolve(Object[] argv, RequestTemplate mutable, Map<String, Object> variables,
+                                      FeignContext context) {
         return mutable.resolve(variables);
     }
 
@@ -155,7 +179,9 @@ public class BuildTemplateByResolvingArgs implements RequestTemplate.Factory {
         }
 
         @Override
-        protected RequestTemplate resolve(Object[] argv, RequestTemplate mutable, Map<String, Object> variables) {
+        protected RequestTemplate resolve(Object[] argv, RequestTemplate mutable, Map<String, Object> variables,
+                                          FeignContext context) {
+            final long start = System.nanoTime();
             Map<String, Object> formVariables = new LinkedHashMap<String, Object>();
             for (Map.Entry<String, Object> entry : variables.entrySet()) {
                 if (metadata.formParams().contains(entry.getKey())) {
@@ -168,8 +194,12 @@ public class BuildTemplateByResolvingArgs implements RequestTemplate.Factory {
                 throw e;
             } catch (RuntimeException e) {
                 throw new EncodeException(e.getMessage(), e);
+            } finally {
+                if (context != null) {
+                    context.recordPhase(FeignContext.Phase.ENCODE, start);
+                }
             }
-            return super.resolve(argv, mutable, variables);
+            return super.resolve(argv, mutable, variables, context);
         }
     }
 
@@ -186,17 +216,67 @@ public class BuildTemplateByResolvingArgs implements RequestTemplate.Factory {
         }
 
         @Override
-        protected RequestTemplate resolve(Object[] argv, RequestTemplate mutable, Map<String, Object> variables) {
+        protected RequestTemplate resolve(Object[] argv, RequestTemplate mutable, Map<String, Object> variables,
+                                          FeignContext context) {
             Object body = argv[metadata.bodyIndex()];
             checkArgument(body != null, "Body parameter %s was null", metadata.bodyIndex());
+            final long start = System.nanoTime();
             try {
-                encoder.encode(body, metadata.bodyType(), mutable);
+                final FileBody fileBody = toFileBody(body);
+                if (fileBody != null) {
+                    setFileBody(mutable, fileBody, context);
+                } else if (encoder instanceof StreamingEncoder && context != null) {
+                    context.setRequestBody(((StreamingEncoder) encoder).bodyWriter(body, metadata.bodyType(), mutable));
+                } else {
+                    encoder.encode(body, metadata.bodyType(), mutable);
+                }
             } catch (EncodeException e) {
                 throw e;
             } catch (RuntimeException e) {
                 throw new EncodeException(e.getMessage(), e);
+            } finally {
+                if (context != null) {
+                    context.recordPhase(FeignContext.Phase.ENCODE, start);
+                }
+            }
+            return super.resolve(argv, mutable, variables, context);
+        }
+
+        /**
+         * @return file body of {@link Path}, {@link File} or {@link FileBody} body parameter, {@code null} otherwise
+         */
+        private static FileBody toFileBody(final Object body) {
+            try {
+                if (body instanceof FileBody) {
+                    return (FileBody) body;
+                } else if (body instanceof Path) {
+                    return FileBody.of((Path) body);
+                } else if (body instanceof File) {
+                    return FileBody.of((File) body);
+                }
+            } catch (IOException e) {
+                throw new EncodeException(e.getMessage(), e);
+            }
+            return null;
+        }
+
+        /**
+         * File bodies bypass the encoder, they are read into the template only if there is no call context
+         * to hand them to the back-end.
+         */
+        private static void setFileBody(final RequestTemplate mutable, final FileBody fileBody, final FeignContext context) {
+            if (context != null) {
+                mutable.header(Util.CONTENT_LENGTH, String.valueOf(fileBody.getCount()));
+                context.setRequestBody(fileBody);
+                return;
+            }
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                fileBody.writeTo(out);
+            } catch (IOException e) {
+                throw new EncodeException(e.getMessage(), e);
             }
-            return super.resolve(argv, mutable, variables);
+            mutable.body(out.toByteArray(), null);
         }
     }
 }
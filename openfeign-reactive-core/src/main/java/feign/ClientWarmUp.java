@@ -0,0 +1,159 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Warms up client before traffic arrives: materializes method handlers, runs template building, interceptors,
+ * encoder and decoder of every method with synthetic arguments and pre-connects HTTP clients to the target.
+ */
+@Slf4j
+final class ClientWarmUp {
+
+    private static final Map<Class<?>, Object> SYNTHETIC_VALUES = new HashMap<>();
+
+    static {
+        SYNTHETIC_VALUES.put(String.class, "0");
+        SYNTHETIC_VALUES.put(Boolean.class, Boolean.FALSE);
+        SYNTHETIC_VALUES.put(Character.class, '0');
+        SYNTHETIC_VALUES.put(Byte.class, (byte) 0);
+        SYNTHETIC_VALUES.put(Short.class, (short) 0);
+        SYNTHETIC_VALUES.put(Integer.class, 0);
+        SYNTHETIC_VALUES.put(Long.class, 0L);
+        SYNTHETIC_VALUES.put(Float.class, 0F);
+        SYNTHETIC_VALUES.put(Double.class, 0D);
+        SYNTHETIC_VALUES.put(Optional.class, Optional.empty());
+    }
+
+    private ClientWarmUp() {
+    }
+
+    /**
+     * @param target      target of the client
+     * @param handlers    method handlers of the client
+     * @param connections number of connections to establish per HTTP client, none if {@code 0}
+     * @return future completed once connections are established
+     */
+    static CompletableFuture<Void> warmUp(final Target<?> target, final Collection<MethodHandler> handlers,
+                                          final int connections) {
+        final Map<String, AsyncMethodHandler> configKeyToHandler = new HashMap<>();
+        final Set<AsyncFeignHttpClient> clients = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final MethodHandler handler : handlers) {
+            final MethodHandler materialized = handler instanceof LazyMethodHandler
+                    ? ((LazyMethodHandler) handler).get() : handler;
+            if (materialized instanceof AsyncMethodHandler) {
+                final AsyncMethodHandler asyncHandler = (AsyncMethodHandler) materialized;
+                configKeyToHandler.put(asyncHandler.getConfigKey(), asyncHandler);
+                clients.add(asyncHandler.getClient());
+            }
+        }
+
+        // connections are established while codecs are exercised on the calling thread
+        final CompletableFuture<Void> connected = connect(target, clients, connections);
+
+        for (final Method method : target.type().getMethods()) {
+            final String configKey = Feign.configKey(target.type(), method);
+            final AsyncMethodHandler handler = configKeyToHandler.get(configKey);
+            if (handler != null) {
+                try {
+                    handler.warmUp(syntheticArgs(method));
+                } catch (Exception ex) {
+                    log.debug("Warm-up of method [{}] with synthetic arguments failed", configKey, ex);
+                }
+            }
+        }
+        return connected;
+    }
+
+    private static CompletableFuture<Void> connect(final Target<?> target, final Collection<AsyncFeignHttpClient> clients,
+                                                   final int connections) {
+        if (connections <= 0 || clients.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final String url;
+        try {
+            url = target.url();
+        } catch (UnsupportedOperationException ex) {
+            // URL is provided per request, e.g. Target.EmptyTarget
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.allOf(clients.stream()
+                .map(client -> client.warmUp(url, connections))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    static Object[] syntheticArgs(final Method method) {
+        final Class<?>[] types = method.getParameterTypes();
+        final Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            args[i] = syntheticValue(types[i]);
+        }
+        return args;
+    }
+
+    /**
+     * @return default value of primitives and their wrappers, empty collections and arrays, instance created by
+     * no-arg constructor or {@code null}
+     */
+    static Object syntheticValue(final Class<?> type) {
+        if (type.isPrimitive()) {
+            return Array.get(Array.newInstance(type, 1), 0);
+        }
+        if (type.isArray()) {
+            return Array.newInstance(type.getComponentType(), 0);
+        }
+        if (SYNTHETIC_VALUES.containsKey(type)) {
+            return SYNTHETIC_VALUES.get(type);
+        }
+        if (type.isAssignableFrom(ArrayList.class)) {
+            return new ArrayList<>();
+        }
+        if (type.isAssignableFrom(LinkedHashSet.class)) {
+            return new LinkedHashSet<>();
+        }
+        if (type.isAssignableFrom(LinkedHashMap.class)) {
+            return new LinkedHashMap<>();
+        }
+        if (type.isEnum()) {
+            final Object[] constants = type.getEnumConstants();
+            return constants.length > 0 ? constants[0] : null;
+        }
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            final Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import java.util.Arrays;
+
+import static feign.Util.checkNotNull;
+
+/**
+ * Calls several {@link FeignMetrics} in order.
+ */
+final class CompositeFeignMetrics implements FeignMetrics {
+
+    private final FeignMetrics[] metrics;
+
+    CompositeFeignMetrics(final FeignMetrics[] metrics) {
+        this.metrics = checkNotNull(metrics, "metrics must not be null").clone();
+    }
+
+    @Override
+    public FeignMethodMetrics forMethod(final String configKey) {
+        final FeignMethodMetrics[] methodMetrics = new FeignMethodMetrics[metrics.length];
+        for (int i = 0; i < metrics.length; i++) {
+            methodMetrics[i] = metrics[i].forMethod(configKey);
+        }
+        return new CompositeMethodMetrics(methodMetrics);
+    }
+
+    @Override
+    public FeignMethodMetrics forMethod(final MethodMetadata metadata) {
+        final FeignMethodMetrics[] methodMetrics = new FeignMethodMetrics[metrics.length];
+        for (int i = 0; i < metrics.length; i++) {
+            methodMetrics[i] = metrics[i].forMethod(metadata);
+        }
+        return new CompositeMethodMetrics(methodMetrics);
+    }
+
+    @Override
+    public String toString() {
+        return "CompositeFeignMetrics{" + "metrics=" + Arrays.toString(metrics) + '}';
+    }
+
+    private static final class CompositeMethodMetrics implements FeignMethodMetrics {
+        private final FeignMethodMetrics[] metrics;
+
+        CompositeMethodMetrics(final FeignMethodMetrics[] metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void onStart(final FeignContext context) {
+            for (final FeignMethodMetrics m : metrics) {
+                m.onStart(context);
+            }
+        }
+
+        @Override
+        public HttpExchangeListener onAttempt(final FeignContext context, final int attempt) {
+            HttpExchangeListener single = HttpExchangeListener.NOOP;
+            HttpExchangeListener[] listeners = null;
+            int count = 0;
+            for (final FeignMethodMetrics m : metrics) {
+                final HttpExchangeListener listener = m.onAttempt(context, attempt);
+                if (listener == HttpExchangeListener.NOOP) {
+                    continue;
+                }
+                if (count == 0) {
+                    single = listener;
+                } else {
+                    if (listeners == null) {
+                        listeners = new HttpExchangeListener[metrics.length];
+                        listeners[0] = single;
+                    }
+                    listeners[count] = listener;
+                }
+                count++;
+            }
+            return count <= 1 ? single : new CompositeExchangeListener(Arrays.copyOf(listeners, count));
+        }
+
+        @Override
+        public void onComplete(final FeignContext context, final Throwable throwable) {
+            for (final FeignMethodMetrics m : metrics) {
+                m.onComplete(context, throwable);
+            }
+        }
+    }
+
+    private static final class CompositeExchangeListener implements HttpExchangeListener {
+        private final HttpExchangeListener[] listeners;
+
+        CompositeExchangeListener(final HttpExchangeListener[] listeners) {
+            this.listeners = listeners;
+        }
+
+        @Override
+        public void onStart() {
+            for (final HttpExchangeListener l : listeners) {
+                l.onStart();
+            }
+        }
+
+        @Override
+        public void onConnectionAcquired() {
+            for (final HttpExchangeListener l : listeners) {
+                l.onConnectionAcquired();
+            }
+        }
+
+        @Override
+        public void onResponseHeaders(final int status) {
+            for (final HttpExchangeListener l : listeners) {
+                l.onResponseHeaders(status);
+            }
+        }
+
+        @Override
+        public void onResponseBody(final long bytes) {
+            for (final HttpExchangeListener l : listeners) {
+                l.onResponseBody(bytes);
+            }
+        }
+
+        @Override
+        public void onComplete(final Throwable throwable) {
+            for (final HttpExchangeListener l : listeners) {
+                l.onComplete(throwable);
+            }
+        }
+    }
+}
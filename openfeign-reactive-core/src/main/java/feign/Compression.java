@@ -0,0 +1,306 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static feign.Util.checkArgument;
+import static feign.Util.checkNotNull;
+
+/**
+ * Transparent gzip compression of calls, see {@link AsyncFeign.Builder#compression(Compression)}.
+ * Responses are advertised as {@code Accept-Encoding: gzip} and decompressed while being decoded,
+ * request bodies are compressed above a size threshold configured per method. {@link Deflater} and
+ * {@link Inflater} instances are pooled, so compression doesn't allocate native zlib state per call.
+ */
+public final class Compression {
+    static final String GZIP = "gzip";
+    static final String ACCEPT_ENCODING = "Accept-Encoding";
+    static final String CONTENT_ENCODING = "Content-Encoding";
+    static final String CONTENT_LENGTH = "Content-Length";
+    /**
+     * Extensions of files gzip can't shrink meaningfully.
+     */
+    private static final Set<String> COMPRESSED_FILE_EXTENSIONS = new HashSet<>(Arrays.asList(
+            "gz", "tgz", "zip", "jar", "bz2", "xz", "zst", "7z", "br", "jpg", "jpeg", "png", "gif", "webp",
+            "mp3", "mp4", "webm"));
+
+    private final boolean responses;
+    private final int level;
+    private final int requestThreshold;
+    private final Map<String, Integer> requestThresholds;
+    private final BlockingQueue<Deflater> deflaters;
+    private final BlockingQueue<Inflater> inflaters;
+
+    private Compression(final Builder builder) {
+        this.responses = builder.responses;
+        this.level = builder.level;
+        this.requestThreshold = builder.requestThreshold;
+        this.requestThresholds = new HashMap<>(builder.requestThresholds);
+        this.deflaters = new ArrayBlockingQueue<>(builder.poolSize);
+        this.inflaters = new ArrayBlockingQueue<>(builder.poolSize);
+    }
+
+    /**
+     * @return compression of responses only
+     */
+    public static Compression gzip() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isResponses() {
+        return responses;
+    }
+
+    /**
+     * @param configKey method config key, see {@link Feign#configKey(Class, java.lang.reflect.Method)}
+     * @return minimal size of request bodies to compress, negative if requests of the method aren't compressed
+     */
+    public int getRequestThreshold(final String configKey) {
+        return requestThresholds.getOrDefault(configKey, requestThreshold);
+    }
+
+    /**
+     * @param request   request with buffered body
+     * @param configKey method config key
+     * @return request with gzip body or {@code request} if its body is below the method threshold
+     */
+    Request compress(final Request request, final String configKey) {
+        final int threshold = getRequestThreshold(configKey);
+        final byte[] body = request.requestBody().asBytes();
+        if (threshold < 0 || body == null || body.length < threshold || isEncoded(request.headers())) {
+            return request;
+        }
+        final Deflater deflater = acquireDeflater();
+        final byte[] compressed;
+        try {
+            compressed = Gzip.compress(body, deflater);
+        } finally {
+            release(deflater);
+        }
+        final Map<String, Collection<String>> headers = withoutHeaders(request.headers());
+        headers.put(CONTENT_ENCODING, Collections.singletonList(GZIP));
+        headers.put(CONTENT_LENGTH, Collections.singletonList(String.valueOf(compressed.length)));
+        return Request.create(request.httpMethod(), request.url(), headers, compressed, null);
+    }
+
+    /**
+     * Size of bodies written by {@link StreamingEncoder} is unknown beforehand, they are compressed whenever
+     * compression of requests is enabled for the method. {@link FileBody} regions below the method threshold
+     * and files of already compressed formats are left as they are, so they can still be sent as files.
+     *
+     * @param request    request of the body, its headers are ignored
+     * @param bodyWriter body writer
+     * @param configKey  method config key
+     * @return writer of gzip body or {@code null} if the body isn't compressed
+     */
+    RequestBodyWriter compress(final Request request, final RequestBodyWriter bodyWriter, final String configKey) {
+        final int threshold = getRequestThreshold(configKey);
+        if (threshold < 0 || isEncoded(request.headers())) {
+            return null;
+        }
+        if (bodyWriter instanceof FileBody) {
+            final FileBody file = (FileBody) bodyWriter;
+            if (file.getCount() < threshold || isCompressedFile(file)) {
+                return null;
+            }
+        }
+        return out -> {
+            final Deflater deflater = acquireDeflater();
+            try {
+                final Gzip.GzipOutputStream gzip = new Gzip.GzipOutputStream(out, deflater);
+                bodyWriter.writeTo(gzip);
+                gzip.finish();
+            } finally {
+                release(deflater);
+            }
+        };
+    }
+
+    /**
+     * @param request request sent with body of {@link #compress(Request, RequestBodyWriter, String)}
+     * @return request advertising gzip body
+     */
+    Request withGzipBody(final Request request) {
+        final Map<String, Collection<String>> headers = withoutHeaders(request.headers());
+        headers.put(CONTENT_ENCODING, Collections.singletonList(GZIP));
+        return Request.create(request.httpMethod(), request.url(), headers, request.requestBody().asBytes(),
+                request.charset());
+    }
+
+    /**
+     * @param response received response
+     * @return response with streaming decompressed body or {@code response} if it isn't gzip encoded
+     * @throws IOException if gzip header can't be read
+     */
+    Response decompress(final Response response) throws IOException {
+        if (!responses || response.body() == null || !isGzip(response.headers())
+                || Integer.valueOf(0).equals(response.body().length())) {
+            return response;
+        }
+        final Inflater inflater = acquireInflater();
+        final InputStream body = new Gzip.GzipInputStream(response.body().asInputStream(), inflater,
+                () -> release(inflater));
+        return Response.builder()
+                .request(response.request())
+                .status(response.status())
+                .reason(response.reason())
+                .headers(withoutHeaders(response.headers()))
+                .body(body, null)
+                .build();
+    }
+
+    private Deflater acquireDeflater() {
+        final Deflater deflater = deflaters.poll();
+        return deflater != null ? deflater : new Deflater(level, true);
+    }
+
+    private void release(final Deflater deflater) {
+        deflater.reset();
+        if (!deflaters.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    private Inflater acquireInflater() {
+        final Inflater inflater = inflaters.poll();
+        return inflater != null ? inflater : new Inflater(true);
+    }
+
+    private void release(final Inflater inflater) {
+        inflater.reset();
+        if (!inflaters.offer(inflater)) {
+            inflater.end();
+        }
+    }
+
+    private static boolean isCompressedFile(final FileBody file) {
+        final Path name = file.getPath().getFileName();
+        if (name == null) {
+            return false;
+        }
+        final String fileName = name.toString();
+        final int dot = fileName.lastIndexOf('.');
+        return dot >= 0 && COMPRESSED_FILE_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean isEncoded(final Map<String, Collection<String>> headers) {
+        return headerValues(headers, CONTENT_ENCODING) != null;
+    }
+
+    private static boolean isGzip(final Map<String, Collection<String>> headers) {
+        final Collection<String> encodings = headerValues(headers, CONTENT_ENCODING);
+        return encodings != null && encodings.size() == 1 && GZIP.equalsIgnoreCase(encodings.iterator().next().trim());
+    }
+
+    private static Collection<String> headerValues(final Map<String, Collection<String>> headers, final String name) {
+        for (final Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey())) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return mutable copy of headers without {@code Content-Encoding} and {@code Content-Length}
+     */
+    private static Map<String, Collection<String>> withoutHeaders(final Map<String, Collection<String>> headers) {
+        final Map<String, Collection<String>> copy = new LinkedHashMap<>(headers.size() * 2);
+        headers.forEach((name, values) -> {
+            if (!CONTENT_ENCODING.equalsIgnoreCase(name) && !CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                copy.put(name, values);
+            }
+        });
+        return copy;
+    }
+
+    public static final class Builder {
+        private final Map<String, Integer> requestThresholds = new HashMap<>();
+        private boolean responses = true;
+        private int level = Deflater.DEFAULT_COMPRESSION;
+        private int requestThreshold = -1;
+        private int poolSize = Runtime.getRuntime().availableProcessors() * 2;
+
+        private Builder() {
+        }
+
+        /**
+         * @param responses whether responses are advertised and decompressed, enabled by default
+         */
+        public Builder responses(final boolean responses) {
+            this.responses = responses;
+            return this;
+        }
+
+        /**
+         * @param level deflate level, {@link Deflater#DEFAULT_COMPRESSION} by default
+         */
+        public Builder level(final int level) {
+            checkArgument(level == Deflater.DEFAULT_COMPRESSION
+                    || level >= Deflater.NO_COMPRESSION && level <= Deflater.BEST_COMPRESSION, "invalid level %s", level);
+            this.level = level;
+            return this;
+        }
+
+        /**
+         * @param minBytes request bodies of at least this size are compressed, negative disables compression
+         */
+        public Builder requests(final int minBytes) {
+            this.requestThreshold = minBytes;
+            return this;
+        }
+
+        /**
+         * @param configKey method config key, see {@link Feign#configKey(Class, java.lang.reflect.Method)}
+         * @param minBytes  request bodies of the method of at least this size are compressed, negative disables
+         *                  compression of the method
+         */
+        public Builder requests(final String configKey, final int minBytes) {
+            requestThresholds.put(checkNotNull(configKey, "configKey must not be null"), minBytes);
+            return this;
+        }
+
+        /**
+         * @param poolSize maximal number of idle deflaters and inflaters each kept for reuse
+         */
+        public Builder poolSize(final int poolSize) {
+            checkArgument(poolSize > 0, "poolSize must be positive");
+            this.poolSize = poolSize;
+            return this;
+        }
+
+        public Compression build() {
+            return new Compression(this);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Process wide cache of parsed contracts per (interface, contract) pair.
+ * <p>
+ * Entries are attached to the interface class via {@link ClassValue} and weakly keyed by contract
+ * instance, so they never keep interface class loaders or contracts alive. Cached metadata is
+ * shared by all clients of the interface and must not be modified.
+ */
+final class ContractMetadataCache {
+
+    private static final ClassValue<Map<Contract, Entry>> CACHE = new ClassValue<Map<Contract, Entry>>() {
+        @Override
+        protected Map<Contract, Entry> computeValue(final Class<?> type) {
+            return Collections.synchronizedMap(new WeakHashMap<>());
+        }
+    };
+
+    private ContractMetadataCache() {
+    }
+
+    /**
+     * Parses the interface once per contract, concurrent callers wait for the first one to finish.
+     *
+     * @param contract contract
+     * @param type     client interface
+     * @return parsed contract
+     */
+    static Entry get(final AsyncDelegatingContract contract, final Class<?> type) {
+        return CACHE.get(type).computeIfAbsent(contract.getDelegate(), delegate -> new Entry(contract, type));
+    }
+
+    @Getter
+    static final class Entry {
+        private final List<MethodMetadata> metadata;
+        private final AsyncDelegatingContract.FallbackIndex fallbacks;
+
+        private Entry(final AsyncDelegatingContract contract, final Class<?> type) {
+            this.metadata = Collections.unmodifiableList(contract.parseAndValidatateMetadata(type));
+            this.fallbacks = contract.getFallbackIndex(type);
+            for (final MethodMetadata md : metadata) {
+                compileExpanders(md);
+            }
+        }
+
+        /**
+         * Instantiates parameter expanders once so that template factories of all clients share them.
+         */
+        private static void compileExpanders(final MethodMetadata md) {
+            if (md.indexToExpander() != null || md.indexToExpanderClass().isEmpty()) {
+                return;
+            }
+            final Map<Integer, Param.Expander> expanders = new HashMap<>();
+            for (final Map.Entry<Integer, Class<? extends Param.Expander>> entry : md.indexToExpanderClass().entrySet()) {
+                try {
+                    expanders.put(entry.getKey(), entry.getValue().newInstance());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            md.indexToExpander(expanders);
+        }
+    }
+}
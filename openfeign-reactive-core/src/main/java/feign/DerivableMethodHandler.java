@@ -0,0 +1,46 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+
+/**
+ * Method handler which can be re-created for another target of the same interface, see {@link AsyncFeign#derive}.
+ */
+interface DerivableMethodHandler extends MethodHandler {
+
+    String getConfigKey();
+
+    /**
+     * @return fallback of the method or {@code null}
+     */
+    FallbackMethodHandler getFallback();
+
+    /**
+     * Creates handler of the same method for another target.
+     *
+     * @param target          target of the new handler
+     * @param shareResilience whether circuit breaker and retry state are shared with this handler
+     * @param fallback        fallback of the new handler, bound to the new client
+     * @return new handler
+     */
+    MethodHandler derive(Target<?> target, boolean shareResilience, FallbackMethodHandler fallback);
+}
@@ -0,0 +1,71 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import feign.FeignContext.Phase;
+
+/**
+ * Translates transport milestones of one execution attempt into {@link FeignContext} phases
+ * and forwards them to the attempt listener provided by {@link FeignMethodMetrics}.
+ */
+final class ExchangePhaseRecorder implements HttpExchangeListener {
+
+    private final FeignContext context;
+    private final HttpExchangeListener delegate;
+    private long mark;
+
+    ExchangePhaseRecorder(final FeignContext context, final HttpExchangeListener delegate) {
+        this.context = context;
+        this.delegate = delegate;
+        this.mark = System.nanoTime();
+    }
+
+    @Override
+    public void onStart() {
+        mark = context.recordPhase(Phase.QUEUE_WAIT, mark);
+        delegate.onStart();
+    }
+
+    @Override
+    public void onConnectionAcquired() {
+        mark = context.recordPhase(Phase.CONNECTION_ACQUIRE, mark);
+        delegate.onConnectionAcquired();
+    }
+
+    @Override
+    public void onResponseHeaders(final int status) {
+        context.setStatus(status);
+        mark = context.recordPhase(Phase.FIRST_BYTE, mark);
+        delegate.onResponseHeaders(status);
+    }
+
+    @Override
+    public void onResponseBody(final long bytes) {
+        context.addBytesReceived(bytes);
+        mark = context.recordPhase(Phase.BODY_READ, mark);
+        delegate.onResponseBody(bytes);
+    }
+
+    @Override
+    public void onComplete(final Throwable throwable) {
+        delegate.onComplete(throwable);
+    }
+}
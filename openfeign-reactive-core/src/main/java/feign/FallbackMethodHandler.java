@@ -20,6 +20,7 @@
 
 package feign;
 
+import feign.InvocationHandlerFactory.MethodHandler;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -39,7 +40,7 @@ class FallbackMethodHandler {
     private final Fallback fallback;
     private final Set<Class<? extends Throwable>> ignoreExceptions = new HashSet<>();
     private Predicate<? extends Throwable> ignorePredicate;
-    private DefaultMethodHandler defaultMethodHandler;
+    private MethodHandler defaultMethodHandler;
 
     public FallbackMethodHandler(Method fallbackMethod, Fallback fallback) {
         checkNotNull(fallbackMethod, "fallbackMethod must be not null");
@@ -61,7 +62,19 @@ class FallbackMethodHandler {
         }
     }
 
-    public void setDefaultMethodHandler(final DefaultMethodHandler defaultMethodHandler) {
+    /**
+     * Creates handler of the same fallback which isn't bound to a default method yet.
+     *
+     * @param prototype handler to copy
+     */
+    FallbackMethodHandler(final FallbackMethodHandler prototype) {
+        this.fallbackMethod = prototype.fallbackMethod;
+        this.fallback = prototype.fallback;
+        this.ignoreExceptions.addAll(prototype.ignoreExceptions);
+        this.ignorePredicate = prototype.ignorePredicate;
+    }
+
+    public void setDefaultMethodHandler(final MethodHandler defaultMethodHandler) {
         checkNotNull(defaultMethodHandler, "defaultMethodHandler for %s must be not null", defaultMethodHandler);
         this.defaultMethodHandler = defaultMethodHandler;
     }
@@ -27,7 +27,7 @@ import java.util.concurrent.CompletableFuture;
  */
 public class FeignCompletableFuture<T> extends CompletableFuture<T> {
 
-    private FeignContext context;
+    private final FeignContext context;
 
     public FeignCompletableFuture() {
         this(null);
@@ -37,7 +37,10 @@ public class FeignCompletableFuture<T> extends CompletableFuture<T> {
         this.context = context == null ? new FeignContext() : context;
     }
 
+    /**
+     * @return call context, read-only once the future is completed
+     */
     public FeignContext getFeignContext() {
-        return new FeignContext(context.getProps());
+        return context;
     }
 }
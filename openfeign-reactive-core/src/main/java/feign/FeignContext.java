@@ -20,52 +20,363 @@
 
 package feign;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
-public final class FeignContext {
+import static feign.Util.checkNotNull;
 
-    public static final String EXEC_MILLIS = "stopwatch";
-    public static final String REQUEST = "request";
+/**
+ * Execution context of a single client call.
+ * <p>
+ * Well-known attributes are kept in typed fields, custom ones are stored under typed {@link Key}s.
+ * Context is filled in on the call path and becomes read-only once the call completes: updates made
+ * after {@link #complete()} are ignored, so completed context is shared with callers without copying.
+ */
+public final class FeignContext {
 
-    private Map<String, Object> props;
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long executionNanos;
+    private Request request;
+    private int attempts;
+    private int status;
+    private long bytesSent;
+    private long bytesReceived;
+    private boolean fallbackUsed;
+    private CircuitState circuitState;
+    private FeignSpan span = FeignSpan.NOOP;
+    private RequestBodyWriter requestBody;
+    /**
+     * Custom attributes as key, value pairs.
+     */
+    private Object[] attributes;
+    private int attributesSize;
+    private volatile boolean completed;
 
-    public FeignContext() {
-        this(null);
+    /**
+     * @return {@code true} if the call is completed and context is read-only
+     */
+    public boolean isCompleted() {
+        return completed;
     }
 
-    public FeignContext(Map<String, Object> props) {
-        this.props = props == null ? new HashMap<>() : props;
+    /**
+     * Makes context read-only. Invoked once the call is completed, including retries and fallback.
+     *
+     * @return this context
+     */
+    public FeignContext complete() {
+        completed = true;
+        return this;
     }
 
-    public Object get(String key) {
-        return key != null ? props.get(key) : null;
+    /**
+     * @param key attribute key
+     * @param <T> attribute type
+     * @return custom attribute value or {@code null}
+     */
+    public <T> T get(final Key<T> key) {
+        for (int i = 0; i < attributesSize; i += 2) {
+            if (attributes[i] == key) {
+                return key.type.cast(attributes[i + 1]);
+            }
+        }
+        return null;
     }
 
-    public void set(String key, Object val) {
-        props.put(key, val);
+    /**
+     * Sets custom attribute, {@code null} value removes the attribute.
+     *
+     * @param key   attribute key
+     * @param value attribute value
+     * @param <T>   attribute type
+     * @return this context
+     */
+    public <T> FeignContext set(final Key<T> key, final T value) {
+        checkNotNull(key, "key must not be null");
+        if (completed) {
+            return this;
+        }
+        for (int i = 0; i < attributesSize; i += 2) {
+            if (attributes[i] == key) {
+                if (value != null) {
+                    attributes[i + 1] = value;
+                } else {
+                    attributesSize -= 2;
+                    attributes[i] = attributes[attributesSize];
+                    attributes[i + 1] = attributes[attributesSize + 1];
+                    attributes[attributesSize] = null;
+                    attributes[attributesSize + 1] = null;
+                }
+                return this;
+            }
+        }
+        if (value != null) {
+            if (attributes == null) {
+                attributes = new Object[4];
+            } else if (attributesSize == attributes.length) {
+                final Object[] grown = new Object[attributesSize * 2];
+                System.arraycopy(attributes, 0, grown, 0, attributesSize);
+                attributes = grown;
+            }
+            attributes[attributesSize++] = key;
+            attributes[attributesSize++] = value;
+        }
+        return this;
     }
 
-    public Map<String, Object> getProps() {
-        return new HashMap<>(props);
+    /**
+     * Iterates over custom attributes.
+     *
+     * @param action attribute consumer
+     */
+    public void forEachAttribute(final BiConsumer<Key<?>, Object> action) {
+        for (int i = 0; i < attributesSize; i += 2) {
+            action.accept((Key<?>) attributes[i], attributes[i + 1]);
+        }
     }
 
     public long getExecutionMillis() {
-        return (long) get(EXEC_MILLIS);
+        return TimeUnit.NANOSECONDS.toMillis(executionNanos);
+    }
+
+    public long getExecutionNanos() {
+        return executionNanos;
     }
 
-    public FeignContext setExecutionMillis(final long executionMillis) {
-        set(EXEC_MILLIS, executionMillis);
+    public FeignContext setExecutionNanos(final long executionNanos) {
+        if (!completed) {
+            this.executionNanos = executionNanos;
+        }
         return this;
     }
 
     public Request getRequest() {
-        return (Request) get(REQUEST);
+        return request;
     }
 
     public FeignContext setRequest(final Request request) {
-        set(REQUEST, request);
+        if (!completed) {
+            this.request = request;
+        }
+        return this;
+    }
+
+    /**
+     * Time spent in the given phase, accumulated over all execution attempts.
+     *
+     * @param phase call phase
+     * @return elapsed nanoseconds or {@code 0} if the phase wasn't observed
+     */
+    public long getPhaseNanos(final Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public FeignContext addPhaseNanos(final Phase phase, final long nanos) {
+        if (!completed) {
+            phaseNanos[phase.ordinal()] += nanos;
+        }
+        return this;
+    }
+
+    /**
+     * Adds time elapsed since {@code sinceNanos} to the given phase.
+     *
+     * @param phase      call phase
+     * @param sinceNanos {@link System#nanoTime()} the phase started at
+     * @return {@link System#nanoTime()} the phase ended at, can be used as start of the next phase
+     */
+    public long recordPhase(final Phase phase, final long sinceNanos) {
+        final long now = System.nanoTime();
+        addPhaseNanos(phase, now - sinceNanos);
+        return now;
+    }
+
+    /**
+     * @return number of HTTP execution attempts, {@code 1} unless the call was retried
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public int nextAttempt() {
+        return completed ? attempts : ++attempts;
+    }
+
+    /**
+     * @return HTTP status of the last execution attempt or {@code 0} if no response was received
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    public FeignContext setStatus(final int status) {
+        if (!completed) {
+            this.status = status;
+        }
+        return this;
+    }
+
+    /**
+     * @return writer of the request body if it was encoded by {@link StreamingEncoder}, {@code null} otherwise
+     */
+    RequestBodyWriter getRequestBody() {
+        return requestBody;
+    }
+
+    FeignContext setRequestBody(final RequestBodyWriter requestBody) {
+        this.requestBody = requestBody;
+        return this;
+    }
+
+    /**
+     * @return request body bytes sent, accumulated over all execution attempts
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public FeignContext addBytesSent(final long bytes) {
+        if (!completed) {
+            bytesSent += bytes;
+        }
+        return this;
+    }
+
+    /**
+     * @return response body bytes received, accumulated over all execution attempts
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    public FeignContext addBytesReceived(final long bytes) {
+        if (!completed) {
+            bytesReceived += bytes;
+        }
+        return this;
+    }
+
+    public boolean isFallbackUsed() {
+        return fallbackUsed;
+    }
+
+    public FeignContext setFallbackUsed(final boolean fallbackUsed) {
+        if (!completed) {
+            this.fallbackUsed = fallbackUsed;
+        }
+        return this;
+    }
+
+    /**
+     * @return state of the method circuit breaker at the moment the call was made or {@code null}
+     * if circuit breaker isn't configured
+     */
+    public CircuitState getCircuitState() {
+        return circuitState;
+    }
+
+    public FeignContext setCircuitState(final CircuitState circuitState) {
+        if (!completed) {
+            this.circuitState = circuitState;
+        }
         return this;
     }
 
+    /**
+     * @return client span of the call, {@link FeignSpan#NOOP} if the call isn't traced
+     */
+    public FeignSpan getSpan() {
+        return span;
+    }
+
+    public FeignContext setSpan(final FeignSpan span) {
+        if (!completed) {
+            this.span = span != null ? span : FeignSpan.NOOP;
+        }
+        return this;
+    }
+
+    /**
+     * Typed key of a custom context attribute. Keys are compared by identity,
+     * so they are expected to be constants.
+     *
+     * @param <T> attribute type
+     */
+    public static final class Key<T> {
+
+        private final String name;
+        private final Class<T> type;
+
+        private Key(final String name, final Class<T> type) {
+            this.name = checkNotNull(name, "name must not be null");
+            this.type = checkNotNull(type, "type must not be null");
+        }
+
+        public static <T> Key<T> of(final String name, final Class<T> type) {
+            return new Key<>(name, type);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Phases of a single client call.
+     */
+    public enum Phase {
+        /**
+         * Resolving method arguments into request template, excluding {@link #ENCODE}.
+         */
+        TEMPLATE_BUILD,
+        /**
+         * Applying request interceptors and target.
+         */
+        INTERCEPTORS,
+        /**
+         * Encoding request body.
+         */
+        ENCODE,
+        /**
+         * Waiting for the transport to start processing the request.
+         */
+        QUEUE_WAIT,
+        /**
+         * Establishing a connection or acquiring one from the pool.
+         */
+        CONNECTION_ACQUIRE,
+        /**
+         * Writing request and waiting for response status and headers.
+         */
+        FIRST_BYTE,
+        /**
+         * Reading response body.
+         */
+        BODY_READ,
+        /**
+         * Decoding response body.
+         */
+        DECODE,
+        /**
+         * Executing retry attempts, i.e. all attempts except the first one.
+         */
+        RETRY,
+        /**
+         * Executing fallback method.
+         */
+        FALLBACK
+    }
+
+    /**
+     * Circuit breaker states.
+     */
+    public enum CircuitState {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
 }
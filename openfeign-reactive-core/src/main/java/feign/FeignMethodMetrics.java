@@ -0,0 +1,59 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+/**
+ * Records metrics of a single client method. Invoked on the call path so implementations
+ * must be thread safe, non-blocking and should not allocate.
+ */
+public interface FeignMethodMetrics {
+
+    FeignMethodMetrics NOOP = new FeignMethodMetrics() {
+    };
+
+    /**
+     * Call is about to be executed.
+     *
+     * @param context call context
+     */
+    default void onStart(FeignContext context) {
+    }
+
+    /**
+     * HTTP execution attempt is about to be made.
+     *
+     * @param context call context
+     * @param attempt attempt number starting from {@code 1}
+     * @return listener of the attempt exchange, {@link HttpExchangeListener#NOOP} if not interested
+     */
+    default HttpExchangeListener onAttempt(FeignContext context, int attempt) {
+        return HttpExchangeListener.NOOP;
+    }
+
+    /**
+     * Call is completed, including retries and fallback.
+     *
+     * @param context   call context
+     * @param throwable call failure or {@code null} if call succeeded
+     */
+    default void onComplete(FeignContext context, Throwable throwable) {
+    }
+}
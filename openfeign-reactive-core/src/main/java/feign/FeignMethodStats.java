@@ -0,0 +1,153 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free in-memory metrics of a single client method.
+ */
+public final class FeignMethodStats implements FeignMethodMetrics {
+
+    private static final FeignContext.CircuitState[] CIRCUIT_STATES = FeignContext.CircuitState.values();
+    private static final int MIN_STATUS = 100;
+    private static final int MAX_STATUS = 599;
+
+    @Getter
+    private final String configKey;
+    @Getter
+    private final LatencyHistogram latency = new LatencyHistogram();
+    /**
+     * Counts by status code at {@code status - 99}, calls without response or with a status out of
+     * {@code [100, 599]} at {@code 0}.
+     */
+    private final AtomicLongArray statusCounts = new AtomicLongArray(MAX_STATUS - MIN_STATUS + 2);
+    private final AtomicLongArray circuitStateCounts = new AtomicLongArray(CIRCUIT_STATES.length);
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    FeignMethodStats(final String configKey) {
+        this.configKey = configKey;
+    }
+
+    @Override
+    public void onStart(final FeignContext context) {
+        inFlight.increment();
+    }
+
+    @Override
+    public void onComplete(final FeignContext context, final Throwable throwable) {
+        inFlight.decrement();
+        latency.record(context.getExecutionNanos());
+        statusCounts.incrementAndGet(statusIndex(context.getStatus()));
+        bytesSent.add(context.getBytesSent());
+        bytesReceived.add(context.getBytesReceived());
+        if (context.getAttempts() > 1) {
+            retries.add(context.getAttempts() - 1L);
+        }
+        if (context.isFallbackUsed()) {
+            fallbacks.increment();
+        }
+        if (context.getCircuitState() != null) {
+            circuitStateCounts.incrementAndGet(context.getCircuitState().ordinal());
+        }
+        if (throwable != null) {
+            failures.increment();
+        }
+    }
+
+    /**
+     * Number of calls completed with response of the given status code.
+     *
+     * @param status status code, {@code 0} for calls without response
+     * @return number of calls
+     */
+    public long getStatusCount(final int status) {
+        return statusCounts.get(statusIndex(status));
+    }
+
+    /**
+     * Number of calls completed with response of the given status class.
+     *
+     * @param statusClass {@code 1} to {@code 5} for {@code 1xx} to {@code 5xx}, {@code 0} for calls without response
+     * @return number of calls
+     */
+    public long getStatusClassCount(final int statusClass) {
+        if (statusClass < 1 || statusClass > 5) {
+            return statusCounts.get(0);
+        }
+        long calls = 0;
+        for (int status = statusClass * 100; status < (statusClass + 1) * 100; status++) {
+            calls += statusCounts.get(statusIndex(status));
+        }
+        return calls;
+    }
+
+    /**
+     * Number of calls made while circuit breaker was in the given state.
+     *
+     * @param state circuit breaker state
+     * @return number of calls
+     */
+    public long getCircuitStateCount(final FeignContext.CircuitState state) {
+        return circuitStateCounts.get(state.ordinal());
+    }
+
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    private static int statusIndex(final int status) {
+        return status < MIN_STATUS || status > MAX_STATUS ? 0 : status - MIN_STATUS + 1;
+    }
+
+    @Override
+    public String toString() {
+        return "FeignMethodStats{" + "configKey='" + configKey + '\'' + '}';
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+/**
+ * Metrics SPI of {@link AsyncFeign} clients.
+ * <p>
+ * Recorder is resolved once per client method when the client is built, so implementations
+ * never have to look metrics up by {@code configKey} on the call path.
+ */
+public interface FeignMetrics {
+
+    FeignMetrics NOOP = configKey -> FeignMethodMetrics.NOOP;
+
+    /**
+     * Creates or returns recorder of the client method.
+     *
+     * @param configKey method config key, see {@link Feign#configKey(Class, java.lang.reflect.Method)}
+     * @return method recorder
+     */
+    FeignMethodMetrics forMethod(String configKey);
+
+    /**
+     * Creates or returns recorder of the client method.
+     * Implementations interested in more than {@code configKey} can override this method.
+     *
+     * @param metadata method metadata
+     * @return method recorder
+     */
+    default FeignMethodMetrics forMethod(MethodMetadata metadata) {
+        return forMethod(metadata.configKey());
+    }
+
+    /**
+     * Combines several recorders into one which calls them in the given order.
+     *
+     * @param metrics recorders
+     * @return combined recorder
+     */
+    static FeignMetrics of(final FeignMetrics... metrics) {
+        return metrics.length == 1 ? metrics[0] : new CompositeFeignMetrics(metrics);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static feign.Util.checkNotNull;
+
+/**
+ * {@link FeignMetrics} keeping lock-free per method statistics in memory.
+ * Statistics are shared by all clients built with the same registry instance
+ * and can be exported to a monitoring system by a binding (e.g. Micrometer).
+ */
+public final class FeignMetricsRegistry implements FeignMetrics {
+
+    private final ConcurrentMap<String, FeignMethodStats> methods = new ConcurrentHashMap<>();
+    private final List<Consumer<FeignMethodStats>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public FeignMethodMetrics forMethod(final String configKey) {
+        checkNotNull(configKey, "configKey must not be null");
+        final FeignMethodStats stats = methods.get(configKey);
+        return stats != null ? stats : register(configKey);
+    }
+
+    public FeignMethodStats getMethod(final String configKey) {
+        return methods.get(configKey);
+    }
+
+    public Collection<FeignMethodStats> getMethods() {
+        return Collections.unmodifiableCollection(methods.values());
+    }
+
+    /**
+     * Registers listener of method statistics. Listener is called for all already
+     * registered methods and then for every newly registered one.
+     *
+     * @param listener listener
+     */
+    public synchronized void onMethodRegistered(final Consumer<FeignMethodStats> listener) {
+        checkNotNull(listener, "listener must not be null");
+        listeners.add(listener);
+        methods.values().forEach(listener);
+    }
+
+    private synchronized FeignMethodStats register(final String configKey) {
+        FeignMethodStats stats = methods.get(configKey);
+        if (stats == null) {
+            stats = new FeignMethodStats(configKey);
+            methods.put(configKey, stats);
+            for (final Consumer<FeignMethodStats> listener : listeners) {
+                listener.accept(stats);
+            }
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+/**
+ * Client span of a single call started by {@link FeignTracer}.
+ */
+public interface FeignSpan {
+
+    FeignSpan NOOP = new FeignSpan() {
+    };
+
+    /**
+     * Makes span context current on the calling thread until returned scope is closed.
+     * Used to expose trace context to code executed on transport threads, e.g. fallback methods.
+     *
+     * @return scope restoring previous context on close
+     */
+    default Scope makeCurrent() {
+        return Scope.NOOP;
+    }
+
+    /**
+     * Call is completed, including retries and fallback. Invoked exactly once.
+     *
+     * @param context   call context with phase timings
+     * @param throwable call failure or {@code null} if call succeeded
+     */
+    default void finish(FeignContext context, Throwable throwable) {
+    }
+
+    /**
+     * Scope of {@link #makeCurrent()}.
+     */
+    interface Scope extends AutoCloseable {
+
+        Scope NOOP = () -> {
+        };
+
+        @Override
+        void close();
+    }
+}
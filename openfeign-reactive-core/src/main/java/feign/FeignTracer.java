@@ -0,0 +1,42 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+/**
+ * Tracing SPI of {@link AsyncFeign} clients.
+ * <p>
+ * Span is started once per call on the caller thread, before request interceptors are applied,
+ * and travels with the call inside its {@link FeignContext}, so implementations never have to
+ * re-install thread locals on transport or completion threads.
+ */
+public interface FeignTracer {
+
+    FeignTracer NOOP = (configKey, template) -> FeignSpan.NOOP;
+
+    /**
+     * Starts client span of the call and injects its context into request headers.
+     *
+     * @param configKey method config key, see {@link Feign#configKey(Class, java.lang.reflect.Method)}
+     * @param template  request template of the call
+     * @return started span, {@link FeignSpan#NOOP} if the call isn't traced
+     */
+    FeignSpan startSpan(String configKey, RequestTemplate template);
+}
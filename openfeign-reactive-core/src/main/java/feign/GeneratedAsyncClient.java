@@ -0,0 +1,172 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static feign.Util.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * Base class of client implementations generated for interfaces annotated with {@link AsyncFeignClient}.
+ * Generated methods call their handlers directly, so calls don't go through proxy dispatch and
+ * default methods are invoked without reflection.
+ */
+public abstract class GeneratedAsyncClient {
+
+    /**
+     * Suffix of generated class name, nested interface names are joined with {@code _}.
+     */
+    public static final String CLASS_NAME_SUFFIX = "_AsyncFeignClient";
+
+    /**
+     * Looks up constructor of generated client once per interface, interfaces without one are cached as empty.
+     */
+    private static final ClassValue<Optional<Constructor<?>>> CONSTRUCTORS = new ClassValue<Optional<Constructor<?>>>() {
+        @Override
+        protected Optional<Constructor<?>> computeValue(final Class<?> type) {
+            final String className = type.getName().replace('$', '_') + CLASS_NAME_SUFFIX;
+            final Class<?> generatedClass;
+            try {
+                generatedClass = Class.forName(className, true, type.getClassLoader());
+            } catch (ClassNotFoundException ex) {
+                return Optional.empty();
+            }
+            if (!GeneratedAsyncClient.class.isAssignableFrom(generatedClass) || !type.isAssignableFrom(generatedClass)) {
+                return Optional.empty();
+            }
+            try {
+                final Constructor<?> constructor = generatedClass.getDeclaredConstructor(Target.class, Map.class);
+                constructor.setAccessible(true);
+                return Optional.of(constructor);
+            } catch (NoSuchMethodException ex) {
+                throw new IllegalStateException(format("Generated client %s has no expected constructor", className), ex);
+            }
+        }
+    };
+
+    private final Target<?> target;
+    private final Map<String, MethodHandler> handlers;
+
+    protected GeneratedAsyncClient(final Target<?> target, final Map<String, MethodHandler> handlers) {
+        this.target = checkNotNull(target, "target must not be null");
+        this.handlers = checkNotNull(handlers, "handlers must not be null");
+    }
+
+    /**
+     * Creates generated implementation of the target interface.
+     *
+     * @param target   client target
+     * @param handlers method handlers by config key
+     * @param <T>      class of API interface
+     * @return generated client or {@code null} if interface has no generated implementation
+     */
+    static <T> T newInstance(final Target<T> target, final Map<String, MethodHandler> handlers) {
+        final Class<T> type = target.type();
+        final Optional<Constructor<?>> constructor = CONSTRUCTORS.get(type);
+        if (!constructor.isPresent()) {
+            return null;
+        }
+        try {
+            return type.cast(constructor.get().newInstance(target, handlers));
+        } catch (InvocationTargetException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException(
+                    format("Can't instantiate generated client %s", constructor.get().getName()), ex.getCause());
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException(
+                    format("Can't instantiate generated client %s", constructor.get().getName()), ex);
+        }
+    }
+
+    /**
+     * @param handlers  method handlers by config key
+     * @param configKey method config key
+     * @return handler of the method
+     * @throws IllegalStateException if generated client doesn't match the contract
+     */
+    protected static MethodHandler handler(final Map<String, MethodHandler> handlers, final String configKey) {
+        final MethodHandler handler = handlers.get(configKey);
+        if (handler == null) {
+            throw new IllegalStateException(
+                    format("Contract has no method %s, generated client is out of date and must be recompiled", configKey));
+        }
+        return handler;
+    }
+
+    /**
+     * Invokes method handler, exceptions are returned as failed future like proxy based clients do.
+     *
+     * @param handler method handler
+     * @param args    method arguments
+     * @param <T>     call result type
+     * @return future with decoded result or occurred exception
+     */
+    @SuppressWarnings("unchecked")
+    protected static <T> CompletableFuture<T> invoke(final MethodHandler handler, final Object[] args) {
+        try {
+            return (CompletableFuture<T>) handler.invoke(args);
+        } catch (Throwable throwable) {
+            final CompletableFuture<T> completableFuture = new CompletableFuture<>();
+            completableFuture.completeExceptionally(throwable);
+            return completableFuture;
+        }
+    }
+
+    /**
+     * Used to bind fallbacks to default methods of the interface.
+     *
+     * @param configKey config key of default method
+     * @return handler invoking the default method or {@code null} if there is no such method
+     */
+    protected abstract MethodHandler defaultMethodHandler(String configKey);
+
+    Target<?> getTarget() {
+        return target;
+    }
+
+    Map<String, MethodHandler> getHandlers() {
+        return handlers;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other != null && other.getClass() == getClass() && target.equals(((GeneratedAsyncClient) other).target);
+    }
+
+    @Override
+    public int hashCode() {
+        return target.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return target.toString();
+    }
+}
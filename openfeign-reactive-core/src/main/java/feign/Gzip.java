@@ -0,0 +1,231 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import java.io.*;
+import java.util.zip.*;
+
+/**
+ * GZIP framing over raw deflate streams of pooled {@link Deflater} and {@link Inflater} instances,
+ * {@link GZIPInputStream} and {@link GZIPOutputStream} allocate and end their own ones.
+ */
+final class Gzip {
+    private static final int MAGIC = 0x8b1f;
+    private static final int HEADER_SIZE = 10;
+    private static final int TRAILER_SIZE = 8;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    private static final int BUFFER_SIZE = 8192;
+
+    private Gzip() {
+    }
+
+    /**
+     * @param data     uncompressed data
+     * @param deflater raw deflater, finished on return
+     * @return gzip member of the data
+     */
+    static byte[] compress(final byte[] data, final Deflater deflater) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + HEADER_SIZE + TRAILER_SIZE);
+        writeHeader(out);
+        deflater.setInput(data);
+        deflater.finish();
+        final byte[] buffer = new byte[Math.min(BUFFER_SIZE, Math.max(64, data.length))];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        writeTrailer(out, crc.getValue(), data.length);
+        return out.toByteArray();
+    }
+
+    private static void writeHeader(final OutputStream out) {
+        try {
+            out.write(new byte[]{(byte) MAGIC, (byte) (MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0});
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeTrailer(final OutputStream out, final long crc, final long size) {
+        try {
+            out.write(new byte[]{(byte) crc, (byte) (crc >> 8), (byte) (crc >> 16), (byte) (crc >> 24),
+                    (byte) size, (byte) (size >> 8), (byte) (size >> 16), (byte) (size >> 24)});
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gzip stream over a pooled deflater, {@link #finish()} writes the trailer without closing the target stream.
+     */
+    static final class GzipOutputStream extends DeflaterOutputStream {
+        private final CRC32 crc = new CRC32();
+
+        GzipOutputStream(final OutputStream out, final Deflater deflater) throws IOException {
+            super(out, deflater, BUFFER_SIZE);
+            try {
+                writeHeader(out);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            super.write(b, off, len);
+            crc.update(b, off, len);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (def.finished()) {
+                return;
+            }
+            super.finish();
+            try {
+                writeTrailer(out, crc.getValue(), def.getBytesRead());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Streaming gzip decompression with a pooled inflater, which is released once the stream is exhausted or closed.
+     * Only the first gzip member is read.
+     */
+    static final class GzipInputStream extends InflaterInputStream {
+        private final CRC32 crc = new CRC32();
+        private final Runnable release;
+        private boolean eos;
+        private boolean released;
+
+        GzipInputStream(final InputStream in, final Inflater inflater, final Runnable release) throws IOException {
+            super(in, inflater, BUFFER_SIZE);
+            this.release = release;
+            try {
+                readHeader(in);
+            } catch (IOException | RuntimeException e) {
+                release();
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (eos) {
+                return -1;
+            }
+            final int n = super.read(b, off, len);
+            if (n == -1) {
+                readTrailer();
+                eos = true;
+                release();
+                return -1;
+            }
+            crc.update(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return eos ? 0 : super.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            release();
+            super.close();
+        }
+
+        private void release() {
+            if (!released) {
+                released = true;
+                release.run();
+            }
+        }
+
+        private void readHeader(final InputStream in) throws IOException {
+            if (readUShort(in) != MAGIC) {
+                throw new ZipException("Not in GZIP format");
+            }
+            if (readUByte(in) != Deflater.DEFLATED) {
+                throw new ZipException("Unsupported compression method");
+            }
+            final int flags = readUByte(in);
+            skip(in, 6);
+            if ((flags & FEXTRA) == FEXTRA) {
+                skip(in, readUShort(in));
+            }
+            if ((flags & FNAME) == FNAME) {
+                while (readUByte(in) != 0) {
+                    // skip file name
+                }
+            }
+            if ((flags & FCOMMENT) == FCOMMENT) {
+                while (readUByte(in) != 0) {
+                    // skip comment
+                }
+            }
+            if ((flags & FHCRC) == FHCRC) {
+                skip(in, 2);
+            }
+        }
+
+        private void readTrailer() throws IOException {
+            final int remaining = inf.getRemaining();
+            final InputStream trailer = remaining > 0
+                    ? new SequenceInputStream(new ByteArrayInputStream(buf, len - remaining, remaining), in)
+                    : in;
+            final long expectedCrc = readUInt(trailer);
+            final long expectedSize = readUInt(trailer);
+            if (expectedCrc != crc.getValue() || expectedSize != (inf.getBytesWritten() & 0xffffffffL)) {
+                throw new ZipException("Corrupt GZIP trailer");
+            }
+        }
+
+        private static long readUInt(final InputStream in) throws IOException {
+            return readUShort(in) | ((long) readUShort(in) << 16);
+        }
+
+        private static int readUShort(final InputStream in) throws IOException {
+            return readUByte(in) | (readUByte(in) << 8);
+        }
+
+        private static int readUByte(final InputStream in) throws IOException {
+            final int b = in.read();
+            if (b == -1) {
+                throw new EOFException("Unexpected end of GZIP stream");
+            }
+            return b;
+        }
+
+        private static void skip(final InputStream in, final int n) throws IOException {
+            for (int i = 0; i < n; i++) {
+                readUByte(in);
+            }
+        }
+    }
+}
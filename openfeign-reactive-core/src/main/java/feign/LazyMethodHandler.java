@@ -0,0 +1,96 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+
+import java.util.function.Supplier;
+
+import static feign.Util.checkNotNull;
+
+/**
+ * Method handler materialized on first invocation.
+ * <p>
+ * Handlers own resources such as retry schedulers, so {@code factory} is invoked once: threads racing on
+ * the first invocation wait for it, later invocations only read the published handler.
+ */
+final class LazyMethodHandler implements DerivableMethodHandler {
+
+    private final String configKey;
+    private final FallbackMethodHandler fallback;
+    private final Supplier<MethodHandler> factory;
+    private volatile MethodHandler delegate;
+
+    LazyMethodHandler(final String configKey, final FallbackMethodHandler fallback, final Supplier<MethodHandler> factory) {
+        this.configKey = checkNotNull(configKey, "configKey must not be null");
+        this.fallback = fallback;
+        this.factory = checkNotNull(factory, "factory must not be null");
+    }
+
+    @Override
+    public Object invoke(final Object[] argv) throws Throwable {
+        return get().invoke(argv);
+    }
+
+    /**
+     * @return materialized handler
+     */
+    MethodHandler get() {
+        final MethodHandler current = delegate;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (delegate == null) {
+                delegate = checkNotNull(factory.get(), "handler of %s must not be null", configKey);
+            }
+            return delegate;
+        }
+    }
+
+    boolean isMaterialized() {
+        return delegate != null;
+    }
+
+    @Override
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    @Override
+    public FallbackMethodHandler getFallback() {
+        return fallback;
+    }
+
+    /**
+     * Derived handler stays lazy, it materializes this handler first to share its state.
+     */
+    @Override
+    public MethodHandler derive(final Target<?> target, final boolean shareResilience, final FallbackMethodHandler fallback) {
+        return new LazyMethodHandler(configKey, fallback,
+                () -> ((DerivableMethodHandler) get()).derive(target, shareResilience, fallback));
+    }
+
+    @Override
+    public String toString() {
+        return "LazyMethodHandler{" + "configKey=" + configKey + ", materialized=" + isMaterialized() + '}';
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+import static feign.Util.checkArgument;
+
+/**
+ * Logs calls which took longer than configured thresholds.
+ */
+@Slf4j
+public final class SlowCallLoggingMetrics implements FeignMetrics, FeignMethodMetrics {
+
+    private static final String LOG_MSG_TEMPLATE = "Slow network call execution detected: method=[%s], url=[%s], timeMs=[%d], timeSec=[%.2f], exception=[%b]";
+
+    private final long warnThresholdMillis;
+    private final long errorThresholdMillis;
+
+    public SlowCallLoggingMetrics() {
+        this(Duration.ofMillis(2000), Duration.ofMillis(4000));
+    }
+
+    public SlowCallLoggingMetrics(final Duration warnThreshold, final Duration errorThreshold) {
+        checkArgument(warnThreshold.compareTo(errorThreshold) <= 0, "warn threshold must not exceed error threshold");
+        this.warnThresholdMillis = warnThreshold.toMillis();
+        this.errorThresholdMillis = errorThreshold.toMillis();
+    }
+
+    @Override
+    public FeignMethodMetrics forMethod(final String configKey) {
+        return this;
+    }
+
+    @Override
+    public void onComplete(final FeignContext context, final Throwable throwable) {
+        final long totalTime = context.getExecutionMillis();
+        if (totalTime >= warnThresholdMillis) {
+            final Request request = context.getRequest();
+            final String frmMsgs = String.format(LOG_MSG_TEMPLATE, request.httpMethod(), request.url(),
+                    totalTime, totalTime / 1000.0, throwable);
+
+            if (totalTime < errorThresholdMillis)
+                log.warn(frmMsgs);
+            else
+                log.error(frmMsgs);
+        }
+    }
+}
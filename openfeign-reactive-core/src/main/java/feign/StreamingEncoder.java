@@ -0,0 +1,59 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Encoder writing request bodies straight into transport buffers, see
+ * {@link AsyncFeignHttpClient#execute(Request, RequestBodyWriter, Request.Options, HttpExchangeListener)}.
+ * Used as a plain {@link Encoder} it buffers the body into the request template.
+ */
+public interface StreamingEncoder extends Encoder {
+
+    /**
+     * Creates writer of the request body. Headers such as {@code Content-Type} may be set on {@code template},
+     * its body must not be.
+     *
+     * @param object   body object
+     * @param bodyType body type
+     * @param template request template
+     * @return body writer, invoked once per execution attempt
+     * @throws EncodeException if the body can't be encoded
+     */
+    RequestBodyWriter bodyWriter(Object object, Type bodyType, RequestTemplate template) throws EncodeException;
+
+    @Override
+    default void encode(final Object object, final Type bodyType, final RequestTemplate template) throws EncodeException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            bodyWriter(object, bodyType, template).writeTo(out);
+        } catch (IOException e) {
+            throw new EncodeException(e.getMessage(), e);
+        }
+        template.body(out.toByteArray(), Util.UTF_8);
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import lombok.Getter;
+
+/**
+ * Immutable <a href="https://www.w3.org/TR/trace-context/">W3C trace context</a> of a span.
+ * <p>
+ * Current context of a thread is held by a single thread local reference, so making context
+ * current costs a reference swap rather than a copy of a context map.
+ * <p>
+ * Context is also a non-recording {@link FeignSpan}, which is what unsampled calls are traced with.
+ */
+public final class TraceContext implements FeignSpan {
+
+    public static final String TRACEPARENT = "traceparent";
+    public static final String TRACESTATE = "tracestate";
+
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int TRACEPARENT_LENGTH = 55;
+    private static final byte FLAG_SAMPLED = 0x01;
+
+    @Getter
+    private final long traceIdHigh;
+    @Getter
+    private final long traceIdLow;
+    @Getter
+    private final long spanId;
+    private final byte flags;
+    @Getter
+    private final String traceState;
+
+    public TraceContext(final long traceIdHigh, final long traceIdLow, final long spanId, final boolean sampled,
+                        final String traceState) {
+        if ((traceIdHigh == 0L && traceIdLow == 0L) || spanId == 0L) {
+            throw new IllegalArgumentException("trace id and span id must not be zero");
+        }
+        this.traceIdHigh = traceIdHigh;
+        this.traceIdLow = traceIdLow;
+        this.spanId = spanId;
+        this.flags = sampled ? FLAG_SAMPLED : 0;
+        this.traceState = traceState;
+    }
+
+    /**
+     * @return context made current on the calling thread or {@code null}
+     */
+    public static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Parses {@code traceparent} and {@code tracestate} header values.
+     *
+     * @param traceparent traceparent header value
+     * @param tracestate  tracestate header value, may be {@code null}
+     * @return parsed context or {@code null} if traceparent is absent or malformed
+     */
+    public static TraceContext parse(final String traceparent, final String tracestate) {
+        if (traceparent == null || traceparent.length() < TRACEPARENT_LENGTH
+                || (traceparent.length() > TRACEPARENT_LENGTH && traceparent.charAt(TRACEPARENT_LENGTH) != '-')
+                || traceparent.charAt(2) != '-' || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return null;
+        }
+        if (!isHex(traceparent, 0, 2) || !isHex(traceparent, 3, 35) || !isHex(traceparent, 36, 52)
+                || !isHex(traceparent, 53, 55)) {
+            return null;
+        }
+        final long version = parseHex(traceparent, 0, 2);
+        if (version == 0xff || (version == 0 && traceparent.length() != TRACEPARENT_LENGTH)) {
+            return null;
+        }
+        final long traceIdHigh = parseHex(traceparent, 3, 19);
+        final long traceIdLow = parseHex(traceparent, 19, 35);
+        final long spanId = parseHex(traceparent, 36, 52);
+        final long flags = parseHex(traceparent, 53, 55);
+        if ((traceIdHigh == 0L && traceIdLow == 0L) || spanId == 0L) {
+            return null;
+        }
+        final String traceState = tracestate == null || tracestate.trim().isEmpty() ? null : tracestate.trim();
+        return new TraceContext(traceIdHigh, traceIdLow, spanId, (flags & FLAG_SAMPLED) != 0, traceState);
+    }
+
+    /**
+     * Creates context of a child span in the same trace.
+     *
+     * @param spanId  child span id
+     * @param sampled child sampling decision
+     * @return child context
+     */
+    public TraceContext child(final long spanId, final boolean sampled) {
+        return new TraceContext(traceIdHigh, traceIdLow, spanId, sampled, traceState);
+    }
+
+    /**
+     * Makes this context current on the calling thread until returned scope is closed.
+     *
+     * @return scope restoring previous context on close
+     */
+    @Override
+    public Scope makeCurrent() {
+        final TraceContext previous = CURRENT.get();
+        if (previous == this) {
+            return Scope.NOOP;
+        }
+        CURRENT.set(this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public boolean isSampled() {
+        return (flags & FLAG_SAMPLED) != 0;
+    }
+
+    /**
+     * @return 32 lowercase hex characters trace id
+     */
+    public String getTraceIdHex() {
+        final char[] chars = new char[32];
+        writeHex(chars, 0, traceIdHigh);
+        writeHex(chars, 16, traceIdLow);
+        return new String(chars);
+    }
+
+    /**
+     * @return 16 lowercase hex characters span id
+     */
+    public String getSpanIdHex() {
+        final char[] chars = new char[16];
+        writeHex(chars, 0, spanId);
+        return new String(chars);
+    }
+
+    /**
+     * @return {@code traceparent} header value
+     */
+    public String toTraceparent() {
+        final char[] chars = new char[TRACEPARENT_LENGTH];
+        chars[0] = '0';
+        chars[1] = '0';
+        chars[2] = '-';
+        writeHex(chars, 3, traceIdHigh);
+        writeHex(chars, 19, traceIdLow);
+        chars[35] = '-';
+        writeHex(chars, 36, spanId);
+        chars[52] = '-';
+        chars[53] = '0';
+        chars[54] = HEX[flags & 0xf];
+        return new String(chars);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TraceContext)) {
+            return false;
+        }
+        final TraceContext that = (TraceContext) o;
+        return traceIdHigh == that.traceIdHigh && traceIdLow == that.traceIdLow && spanId == that.spanId
+                && flags == that.flags && (traceState == null ? that.traceState == null : traceState.equals(that.traceState));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(traceIdHigh);
+        result = 31 * result + Long.hashCode(traceIdLow);
+        result = 31 * result + Long.hashCode(spanId);
+        result = 31 * result + flags;
+        return 31 * result + (traceState != null ? traceState.hashCode() : 0);
+    }
+
+    @Override
+    public String toString() {
+        return toTraceparent();
+    }
+
+    private static void writeHex(final char[] chars, final int offset, final long value) {
+        for (int i = 0; i < 16; i++) {
+            chars[offset + i] = HEX[(int) (value >>> (60 - 4 * i)) & 0xf];
+        }
+    }
+
+    private static boolean isHex(final String s, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final char c = s.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseHex(final String s, final int from, final int to) {
+        long value = 0L;
+        for (int i = from; i < to; i++) {
+            final char c = s.charAt(i);
+            value = (value << 4) | (c <= '9' ? c - '0' : c - 'a' + 10);
+        }
+        return value;
+    }
+}
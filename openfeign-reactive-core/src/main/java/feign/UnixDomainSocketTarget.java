@@ -0,0 +1,72 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+
+import static feign.Util.checkArgument;
+
+/**
+ * Target of a service listening on a Unix domain socket, e.g. a local sidecar. Accepts
+ * {@code unix:///var/run/sidecar.sock} or percent-encoded socket path as authority followed by optional base path,
+ * e.g. {@code unix://%2Fvar%2Frun%2Fsidecar.sock/api}.
+ * <p>
+ * Request URLs keep the socket path percent-encoded in the authority, so that back-ends supporting domain sockets
+ * can tell it from the request path. HTTP method, path, query and headers are unchanged.
+ *
+ * @param <T> class of API interface
+ */
+public class UnixDomainSocketTarget<T> extends Target.HardCodedTarget<T> {
+    public static final String SCHEME = "unix";
+
+    public UnixDomainSocketTarget(final Class<T> type, final String url) {
+        super(type, canonicalUrl(url));
+    }
+
+    static boolean isUnixDomainSocketUrl(final String url) {
+        return url != null && url.startsWith(SCHEME + ":");
+    }
+
+    @Override
+    public Request apply(final RequestTemplate input) {
+        // RequestTemplate.target would decode the socket path
+        final String url = input.url().startsWith(SCHEME + ":") ? input.url() : url() + input.url();
+        return Request.create(Request.HttpMethod.valueOf(input.method()), url, input.headers(), input.body(),
+                input.requestCharset());
+    }
+
+    private static String canonicalUrl(final String url) {
+        checkArgument(isUnixDomainSocketUrl(url), "%s isn't a unix domain socket URL", url);
+        final URI uri = URI.create(url);
+        if (uri.getRawAuthority() != null) {
+            final String path = uri.getRawPath();
+            return SCHEME + "://" + uri.getRawAuthority() + (path == null || "/".equals(path) ? "" : path);
+        }
+        checkArgument(uri.getPath() != null && !uri.getPath().isEmpty(), "%s has no socket path", url);
+        try {
+            return SCHEME + "://" + URLEncoder.encode(uri.getPath(), "UTF-8");
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
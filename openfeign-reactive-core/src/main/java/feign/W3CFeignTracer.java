@@ -0,0 +1,160 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static feign.Util.checkNotNull;
+
+/**
+ * {@link FeignTracer} propagating <a href="https://www.w3.org/TR/trace-context/">W3C trace context</a>.
+ * <p>
+ * Sampling decision is made once, when the call starts: calls with a parent context inherit its
+ * decision and root calls are sampled with the configured probability. Unsampled calls only write
+ * {@code traceparent} header, sampled ones are reported to {@link Reporter} with phase timings
+ * once completed.
+ */
+@Slf4j
+public class W3CFeignTracer implements FeignTracer {
+
+    private final double sampleRate;
+    private final Supplier<TraceContext> parentContext;
+    private final Reporter reporter;
+
+    /**
+     * Creates tracer using {@link TraceContext#current()} as parent context.
+     *
+     * @param sampleRate probability of root call to be sampled, from {@code 0.0} to {@code 1.0}
+     * @param reporter   reporter of sampled spans
+     */
+    public W3CFeignTracer(final double sampleRate, final Reporter reporter) {
+        this(sampleRate, TraceContext::current, reporter);
+    }
+
+    /**
+     * @param sampleRate    probability of root call to be sampled, from {@code 0.0} to {@code 1.0}
+     * @param parentContext supplier of parent context, e.g. bridge to application tracing library
+     * @param reporter      reporter of sampled spans
+     */
+    public W3CFeignTracer(final double sampleRate, final Supplier<TraceContext> parentContext, final Reporter reporter) {
+        if (sampleRate < 0.0 || sampleRate > 1.0) {
+            throw new IllegalArgumentException("sampleRate must be between 0.0 and 1.0");
+        }
+        this.sampleRate = sampleRate;
+        this.parentContext = checkNotNull(parentContext, "parentContext must not be null");
+        this.reporter = checkNotNull(reporter, "reporter must not be null");
+    }
+
+    @Override
+    public FeignSpan startSpan(final String configKey, final RequestTemplate template) {
+        final TraceContext parent = parentContext.get();
+        final boolean sampled = parent != null ? parent.isSampled() : sample();
+        final TraceContext context = parent != null ? parent.child(nextId(), sampled)
+                : new TraceContext(nextId(), nextId(), nextId(), sampled, null);
+
+        template.header(TraceContext.TRACEPARENT, Collections.emptyList());
+        template.header(TraceContext.TRACEPARENT, context.toTraceparent());
+        if (context.getTraceState() != null) {
+            template.header(TraceContext.TRACESTATE, Collections.emptyList());
+            template.header(TraceContext.TRACESTATE, context.getTraceState());
+        }
+
+        return sampled ? new ClientSpan(configKey, template.method(), context, parent, reporter) : context;
+    }
+
+    private boolean sample() {
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private static long nextId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0L);
+        return id;
+    }
+
+    /**
+     * Receives completed sampled spans. Invoked on the thread completing the call so
+     * implementations should hand spans off rather than export them synchronously.
+     */
+    @FunctionalInterface
+    public interface Reporter {
+
+        void report(ClientSpan span);
+    }
+
+    /**
+     * Sampled client span of a single call.
+     */
+    @Getter
+    public static final class ClientSpan implements FeignSpan {
+
+        private final String name;
+        private final String httpMethod;
+        private final TraceContext traceContext;
+        private final TraceContext parent;
+        private final long startEpochMillis;
+        private FeignContext feignContext;
+        private Throwable error;
+        @Getter(AccessLevel.NONE)
+        private final Reporter reporter;
+
+        private ClientSpan(final String name, final String httpMethod, final TraceContext traceContext,
+                           final TraceContext parent, final Reporter reporter) {
+            this.name = name;
+            this.httpMethod = httpMethod;
+            this.traceContext = traceContext;
+            this.parent = parent;
+            this.startEpochMillis = System.currentTimeMillis();
+            this.reporter = reporter;
+        }
+
+        /**
+         * @return span duration, phase timings are available from {@link #getFeignContext()}
+         */
+        public long getDurationNanos() {
+            return feignContext != null ? feignContext.getExecutionNanos() : 0L;
+        }
+
+        @Override
+        public Scope makeCurrent() {
+            return traceContext.makeCurrent();
+        }
+
+        @Override
+        public void finish(final FeignContext context, final Throwable throwable) {
+            this.feignContext = context;
+            this.error = throwable;
+            try {
+                reporter.report(this);
+            } catch (Exception ex) {
+                log.warn("Exception reporting span [{}], exception [{}]", name, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import feign.codec.EncodeException;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static feign.Util.checkNotNull;
+
+/**
+ * Jackson {@link StreamingEncoder}, objects are serialized straight into transport buffers.
+ */
+public final class JacksonStreamingEncoder implements StreamingEncoder {
+    private final ObjectMapper mapper;
+    private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public JacksonStreamingEncoder() {
+        this(new ObjectMapper());
+    }
+
+    public JacksonStreamingEncoder(final ObjectMapper mapper) {
+        this.mapper = checkNotNull(mapper, "mapper must not be null");
+    }
+
+    @Override
+    public RequestBodyWriter bodyWriter(final Object object, final Type bodyType, final RequestTemplate template)
+            throws EncodeException {
+        final ObjectWriter writer = writers.computeIfAbsent(bodyType, type -> mapper.writerFor(mapper.constructType(type))
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+        return out -> writer.writeValue(out, object);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+/**
+ * {@link FeignMetrics} emitting JDK Flight Recorder events:
+ * <ul>
+ * <li>{@code feign.Call} - duration of a client method call with outcome attributes;</li>
+ * <li>{@code feign.Exchange} - duration of every HTTP execution attempt made by the transport.</li>
+ * </ul>
+ * Events are enabled and thresholded by JFR settings. When an event type is disabled
+ * nothing is attached to the call, so the remaining cost is an enabled check.
+ */
+public final class JfrFeignMetrics implements FeignMetrics {
+
+    private static final FeignContext.Key<FeignCallEvent> CALL_EVENT = FeignContext.Key.of("feign.jfr.callEvent",
+            FeignCallEvent.class);
+
+    @Override
+    public FeignMethodMetrics forMethod(final String configKey) {
+        return new MethodEvents(configKey, null);
+    }
+
+    @Override
+    public FeignMethodMetrics forMethod(final MethodMetadata metadata) {
+        return new MethodEvents(metadata.configKey(), metadata.template().method() + " " + metadata.template().url());
+    }
+
+    private static final class MethodEvents implements FeignMethodMetrics {
+        private final String configKey;
+        private final String urlTemplate;
+
+        MethodEvents(final String configKey, final String urlTemplate) {
+            this.configKey = configKey;
+            this.urlTemplate = urlTemplate;
+        }
+
+        @Override
+        public void onStart(final FeignContext context) {
+            final FeignCallEvent event = new FeignCallEvent();
+            if (event.isEnabled()) {
+                event.begin();
+                context.set(CALL_EVENT, event);
+            }
+        }
+
+        @Override
+        public HttpExchangeListener onAttempt(final FeignContext context, final int attempt) {
+            final FeignExchangeEvent event = new FeignExchangeEvent();
+            if (!event.isEnabled()) {
+                return HttpExchangeListener.NOOP;
+            }
+            event.configKey = configKey;
+            event.urlTemplate = urlTemplate;
+            event.attempt = attempt;
+            event.begin();
+            return new ExchangeEvents(event);
+        }
+
+        @Override
+        public void onComplete(final FeignContext context, final Throwable throwable) {
+            final FeignCallEvent event = context.get(CALL_EVENT);
+            if (event == null) {
+                return;
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.configKey = configKey;
+                event.urlTemplate = urlTemplate;
+                if (context.getRequest() != null) {
+                    event.httpMethod = context.getRequest().httpMethod().name();
+                    event.url = context.getRequest().url();
+                }
+                event.status = context.getStatus();
+                event.bytesSent = context.getBytesSent();
+                event.bytesReceived = context.getBytesReceived();
+                event.attempts = context.getAttempts();
+                event.fallbackUsed = context.isFallbackUsed();
+                event.circuitState = context.getCircuitState() != null ? context.getCircuitState().name() : null;
+                event.failure = throwable != null ? throwable.getClass().getName() : null;
+                event.commit();
+            }
+        }
+    }
+
+    private static final class ExchangeEvents implements HttpExchangeListener {
+        private final FeignExchangeEvent event;
+        private final long startNanos = System.nanoTime();
+
+        ExchangeEvents(final FeignExchangeEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public void onConnectionAcquired() {
+            event.connectionAcquireNanos = System.nanoTime() - startNanos;
+        }
+
+        @Override
+        public void onResponseHeaders(final int status) {
+            event.status = status;
+        }
+
+        @Override
+        public void onResponseBody(final long bytes) {
+            event.bytesReceived = bytes;
+        }
+
+        @Override
+        public void onComplete(final Throwable throwable) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.failure = throwable != null ? throwable.getClass().getName() : null;
+                event.commit();
+            }
+        }
+    }
+}
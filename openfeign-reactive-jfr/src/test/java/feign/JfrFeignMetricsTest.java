@@ -0,0 +1,190 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JfrFeignMetricsTest {
+
+    private static final String CALL_EVENT = "feign.Call";
+    private static final String EXCHANGE_EVENT = "feign.Exchange";
+
+    @Test
+    public void testEventsEnabled_success() throws Exception {
+        Flavors client = client(new StubHttpClient(200));
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(CALL_EVENT);
+            recording.enable(EXCHANGE_EVENT);
+            recording.start();
+            assertThat(client.flavors().join()).isEqualTo("VANILLA");
+            recording.stop();
+            events = readFeignEvents(recording);
+        }
+
+        RecordedEvent call = single(events, CALL_EVENT);
+        assertThat(call.getString("configKey")).isEqualTo("Flavors#flavors()");
+        assertThat(call.getInt("status")).isEqualTo(200);
+        assertThat(call.getInt("attempts")).isEqualTo(1);
+        assertThat(call.getBoolean("fallbackUsed")).isFalse();
+        assertThat(call.getString("failure")).isNull();
+
+        RecordedEvent exchange = single(events, EXCHANGE_EVENT);
+        assertThat(exchange.getString("configKey")).isEqualTo("Flavors#flavors()");
+        assertThat(exchange.getInt("status")).isEqualTo(200);
+        assertThat(exchange.getInt("attempt")).isEqualTo(1);
+    }
+
+    @Test
+    public void testEventsEnabledFallback_success() throws Exception {
+        Flavors client = client(new StubHttpClient(500));
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(CALL_EVENT);
+            recording.enable(EXCHANGE_EVENT);
+            recording.start();
+            assertThat(client.flavorsWithFallback().join()).isEqualTo("NONE");
+            recording.stop();
+            events = readFeignEvents(recording);
+        }
+
+        RecordedEvent call = single(events, CALL_EVENT);
+        assertThat(call.getString("configKey")).isEqualTo("Flavors#flavorsWithFallback()");
+        assertThat(call.getInt("status")).isEqualTo(500);
+        assertThat(call.getInt("attempts")).isEqualTo(1);
+        assertThat(call.getBoolean("fallbackUsed")).isTrue();
+
+        RecordedEvent exchange = single(events, EXCHANGE_EVENT);
+        assertThat(exchange.getString("configKey")).isEqualTo("Flavors#flavorsWithFallback()");
+        assertThat(exchange.getInt("status")).isEqualTo(500);
+    }
+
+    @Test
+    public void testEventsDisabled_success() throws Exception {
+        StubHttpClient httpClient = new StubHttpClient(200);
+        Flavors client = client(httpClient);
+        FeignMethodMetrics metrics = new JfrFeignMetrics().forMethod("Flavors#flavors()");
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.disable(CALL_EVENT);
+            recording.disable(EXCHANGE_EVENT);
+            recording.start();
+
+            FeignContext context = new FeignContext();
+            metrics.onStart(context);
+            AtomicInteger attributes = new AtomicInteger();
+            context.forEachAttribute((key, value) -> attributes.incrementAndGet());
+            assertThat(attributes.get()).isZero();
+            assertThat(metrics.onAttempt(context, 1)).isSameAs(HttpExchangeListener.NOOP);
+
+            assertThat(client.flavors().join()).isEqualTo("VANILLA");
+            recording.stop();
+            events = readFeignEvents(recording);
+        }
+
+        assertThat(httpClient.calls.get()).isEqualTo(1);
+        assertThat(events).isEmpty();
+    }
+
+    private static Flavors client(final AsyncFeignHttpClient httpClient) {
+        return AsyncFeign.builder().asyncHttpClient(httpClient).metrics(new JfrFeignMetrics())
+                .target(Flavors.class, "http://localhost:8089");
+    }
+
+    private static List<RecordedEvent> readFeignEvents(final Recording recording) throws Exception {
+        Path file = Files.createTempFile("feign", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().startsWith("feign."))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent single(final List<RecordedEvent> events, final String name) {
+        List<RecordedEvent> matching = events.stream().filter(e -> e.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+        assertThat(matching).hasSize(1);
+        return matching.get(0);
+    }
+
+    interface Flavors {
+
+        @RequestLine("GET /icecream/flavors")
+        CompletableFuture<String> flavors();
+
+        @RequestLine("GET /icecream/flavors")
+        @Fallback("flavorsFallback")
+        CompletableFuture<String> flavorsWithFallback();
+
+        default CompletableFuture<String> flavorsFallback(Throwable throwable) {
+            return CompletableFuture.completedFuture("NONE");
+        }
+    }
+
+    /**
+     * Answers every request with a fixed status and notifies exchange listener like real transports do.
+     */
+    private static final class StubHttpClient implements AsyncFeignHttpClient {
+        private final int status;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        StubHttpClient(final int status) {
+            this.status = status;
+        }
+
+        @Override
+        public CompletableFuture<Response> execute(final Request request, final Request.Options options) {
+            return execute(request, options, HttpExchangeListener.NOOP);
+        }
+
+        @Override
+        public CompletableFuture<Response> execute(final Request request, final Request.Options options,
+                                                   final HttpExchangeListener listener) {
+            calls.incrementAndGet();
+            byte[] body = "VANILLA".getBytes(StandardCharsets.UTF_8);
+            listener.onConnectionAcquired();
+            listener.onResponseHeaders(status);
+            listener.onResponseBody(body.length);
+            return CompletableFuture.completedFuture(Response.builder().status(status).reason("stub")
+                    .request(request).headers(Collections.emptyMap()).body(body).build());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+import static feign.Util.checkNotNull;
+
+/**
+ * Exports statistics collected by {@link FeignMetricsRegistry} as Micrometer meters.
+ * Meters read statistics lazily on publishing, so nothing is added to the call path.
+ */
+public final class FeignMicrometerBinder implements MeterBinder {
+
+    private static final String PREFIX = "feign.client.";
+    private static final String[] STATUS_CLASSES = {"NONE", "1xx", "2xx", "3xx", "4xx", "5xx"};
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final FeignMetricsRegistry feignMetrics;
+    private final Iterable<Tag> tags;
+
+    public FeignMicrometerBinder(final FeignMetricsRegistry feignMetrics) {
+        this(feignMetrics, Tags.empty());
+    }
+
+    public FeignMicrometerBinder(final FeignMetricsRegistry feignMetrics, final Iterable<Tag> tags) {
+        this.feignMetrics = checkNotNull(feignMetrics, "feignMetrics must not be null");
+        this.tags = checkNotNull(tags, "tags must not be null");
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        feignMetrics.onMethodRegistered(stats -> bindMethod(registry, stats));
+    }
+
+    private void bindMethod(final MeterRegistry registry, final FeignMethodStats stats) {
+        final Tags methodTags = Tags.of(tags).and("method", stats.getConfigKey());
+
+        FunctionTimer.builder(PREFIX + "requests", stats.getLatency(), LatencyHistogram::getCount,
+                LatencyHistogram::getTotalNanos, TimeUnit.NANOSECONDS)
+                .tags(methodTags)
+                .description("Client calls latency including retries and fallback")
+                .register(registry);
+
+        Gauge.builder(PREFIX + "requests.max", stats.getLatency(), h -> h.getMax() / 1_000_000_000.0)
+                .tags(methodTags)
+                .baseUnit("seconds")
+                .register(registry);
+
+        for (final double percentile : PERCENTILES) {
+            Gauge.builder(PREFIX + "requests.percentile", stats.getLatency(),
+                    h -> h.getValueAtPercentile(percentile * 100) / 1_000_000_000.0)
+                    .tags(methodTags.and("phi", String.valueOf(percentile)))
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+
+        for (int statusClass = 0; statusClass < STATUS_CLASSES.length; statusClass++) {
+            final int index = statusClass;
+            FunctionCounter.builder(PREFIX + "responses", stats, s -> s.getStatusClassCount(index))
+                    .tags(methodTags.and("status", STATUS_CLASSES[index]))
+                    .register(registry);
+        }
+
+        for (final FeignContext.CircuitState state : FeignContext.CircuitState.values()) {
+            FunctionCounter.builder(PREFIX + "circuit.calls", stats, s -> s.getCircuitStateCount(state))
+                    .tags(methodTags.and("state", state.name()))
+                    .register(registry);
+        }
+
+        Gauge.builder(PREFIX + "requests.active", stats, FeignMethodStats::getInFlight)
+                .tags(methodTags)
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "bytes.sent", stats, FeignMethodStats::getBytesSent)
+                .tags(methodTags)
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "bytes.received", stats, FeignMethodStats::getBytesReceived)
+                .tags(methodTags)
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "retries", stats, FeignMethodStats::getRetries)
+                .tags(methodTags)
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "fallbacks", stats, FeignMethodStats::getFallbacks)
+                .tags(methodTags)
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "failures", stats, FeignMethodStats::getFailures)
+                .tags(methodTags)
+                .register(registry);
+    }
+}
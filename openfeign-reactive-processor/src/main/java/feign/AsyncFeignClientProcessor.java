@@ -0,0 +1,251 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates {@code GeneratedAsyncClient} implementation of every interface annotated with
+ * {@code feign.AsyncFeignClient}. Each abstract method calls its handler kept in a field and every
+ * default method can be invoked by fallbacks without reflection.
+ */
+@SupportedAnnotationTypes(AsyncFeignClientProcessor.ANNOTATION)
+public class AsyncFeignClientProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "feign.AsyncFeignClient";
+    private static final String CLASS_NAME_SUFFIX = "_AsyncFeignClient";
+    private static final String METHOD_HANDLER = "feign.InvocationHandlerFactory.MethodHandler";
+    private static final String COMPLETABLE_FUTURE = "java.util.concurrent.CompletableFuture";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final TypeElement annotation : annotations) {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.INTERFACE) {
+                    error(element, "@AsyncFeignClient is applicable to interfaces only");
+                } else if (!((TypeElement) element).getTypeParameters().isEmpty()) {
+                    error(element, "Parameterized types unsupported: " + element);
+                } else if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                    error(element, "Private interfaces unsupported: " + element);
+                } else {
+                    generate((TypeElement) element);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void generate(final TypeElement type) {
+        final Types types = processingEnv.getTypeUtils();
+        final DeclaredType declaredType = (DeclaredType) type.asType();
+        final String packageName = packageOf(type).getQualifiedName().toString();
+        final String className = flatName(type) + CLASS_NAME_SUFFIX;
+
+        final TypeMirror completableFuture = types.erasure(processingEnv.getElementUtils()
+                .getTypeElement(COMPLETABLE_FUTURE).asType());
+        final List<ExecutableElement> abstractMethods = new ArrayList<>();
+        final List<ExecutableElement> defaultMethods = new ArrayList<>();
+        boolean valid = true;
+        for (final ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            final Element owner = method.getEnclosingElement();
+            if (owner.getKind() != ElementKind.INTERFACE || method.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            if (method.getModifiers().contains(Modifier.DEFAULT)) {
+                defaultMethods.add(method);
+            } else if (method.getModifiers().contains(Modifier.ABSTRACT)) {
+                if (!types.isSameType(types.erasure(method.getReturnType()), completableFuture)) {
+                    error(owner.equals(type) ? method : type, "Method " + owner.getSimpleName() + "." + method
+                            + " must return " + COMPLETABLE_FUTURE);
+                    valid = false;
+                }
+                abstractMethods.add(method);
+            }
+        }
+        if (!valid) {
+            return;
+        }
+
+        final StringBuilder src = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            src.append("package ").append(packageName).append(";\n\n");
+        }
+        src.append("/**\n * Generated by ").append(getClass().getName()).append(" from {@link ")
+                .append(type.getQualifiedName()).append("}, do not edit.\n */\n");
+        src.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        src.append(type.getModifiers().contains(Modifier.PUBLIC) ? "public " : "").append("final class ").append(className)
+                .append(" extends feign.GeneratedAsyncClient implements ").append(type.getQualifiedName()).append(" {\n\n");
+
+        for (int i = 0; i < abstractMethods.size(); i++) {
+            src.append("    private final ").append(METHOD_HANDLER).append(" h").append(i).append(";\n");
+        }
+
+        src.append("\n    ").append(className).append("(final feign.Target<").append(type.getQualifiedName())
+                .append("> target, final java.util.Map<String, ").append(METHOD_HANDLER).append("> handlers) {\n");
+        src.append("        super(target, handlers);\n");
+        for (int i = 0; i < abstractMethods.size(); i++) {
+            final ExecutableElement method = abstractMethods.get(i);
+            final ExecutableType methodType = (ExecutableType) types.asMemberOf(declaredType, method);
+            src.append("        this.h").append(i).append(" = feign.GeneratedAsyncClient.handler(handlers, \"")
+                    .append(configKey(type, method, methodType)).append("\");\n");
+        }
+        src.append("    }\n");
+
+        for (int i = 0; i < abstractMethods.size(); i++) {
+            final ExecutableElement method = abstractMethods.get(i);
+            final ExecutableType methodType = (ExecutableType) types.asMemberOf(declaredType, method);
+            src.append("\n    @Override\n    public ");
+            appendSignature(src, method, methodType);
+            src.append(" {\n        return feign.GeneratedAsyncClient.invoke(this.h").append(i).append(", ");
+            if (method.getParameters().isEmpty()) {
+                src.append("null");
+            } else {
+                src.append("new Object[]{").append(method.getParameters().stream()
+                        .map(p -> p.getSimpleName().toString()).collect(Collectors.joining(", "))).append('}');
+            }
+            src.append(");\n    }\n");
+        }
+
+        src.append("\n    @Override\n    protected ").append(METHOD_HANDLER).append(" defaultMethodHandler(final String configKey) {\n");
+        src.append("        switch (configKey) {\n");
+        for (final ExecutableElement method : defaultMethods) {
+            final ExecutableType methodType = (ExecutableType) types.asMemberOf(declaredType, method);
+            src.append("            case \"").append(configKey(type, method, methodType)).append("\":\n");
+            // handlers return Object, void methods need a block lambda
+            final boolean isVoid = methodType.getReturnType().getKind() == TypeKind.VOID;
+            src.append(isVoid ? "                return args -> {\n                    " : "                return args -> ")
+                    .append(type.getQualifiedName()).append(".super.").append(method.getSimpleName()).append('(');
+            final List<? extends TypeMirror> parameterTypes = methodType.getParameterTypes();
+            for (int p = 0; p < parameterTypes.size(); p++) {
+                src.append(p > 0 ? ", " : "").append('(').append(types.erasure(parameterTypes.get(p))).append(") args[")
+                        .append(p).append(']');
+            }
+            src.append(isVoid ? ");\n                    return null;\n                };\n" : ");\n");
+        }
+        src.append("            default:\n                return null;\n        }\n    }\n}\n");
+
+        final String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(src.toString());
+        } catch (IOException ex) {
+            error(type, "Can't generate " + qualifiedName + ": " + ex.getMessage());
+        }
+    }
+
+    private void appendSignature(final StringBuilder src, final ExecutableElement method, final ExecutableType methodType) {
+        final List<? extends TypeParameterElement> typeParameters = method.getTypeParameters();
+        if (!typeParameters.isEmpty()) {
+            src.append('<').append(typeParameters.stream().map(this::typeParameter).collect(Collectors.joining(", ")))
+                    .append("> ");
+        }
+        src.append(methodType.getReturnType()).append(' ').append(method.getSimpleName()).append('(');
+        final List<? extends TypeMirror> parameterTypes = methodType.getParameterTypes();
+        for (int p = 0; p < parameterTypes.size(); p++) {
+            final TypeMirror parameterType = parameterTypes.get(p);
+            src.append(p > 0 ? ", " : "").append("final ");
+            if (method.isVarArgs() && p == parameterTypes.size() - 1) {
+                src.append(((ArrayType) parameterType).getComponentType()).append("...");
+            } else {
+                src.append(parameterType);
+            }
+            src.append(' ').append(method.getParameters().get(p).getSimpleName());
+        }
+        src.append(')');
+        if (!methodType.getThrownTypes().isEmpty()) {
+            src.append(" throws ").append(methodType.getThrownTypes().stream().map(TypeMirror::toString)
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private String typeParameter(final TypeParameterElement typeParameter) {
+        final String bounds = typeParameter.getBounds().stream().map(TypeMirror::toString)
+                .filter(bound -> !"java.lang.Object".equals(bound)).collect(Collectors.joining(" & "));
+        return bounds.isEmpty() ? typeParameter.getSimpleName().toString() : typeParameter.getSimpleName() + " extends " + bounds;
+    }
+
+    /**
+     * Same key as {@code Feign.configKey(Class, Method)} produces at runtime.
+     */
+    private String configKey(final TypeElement type, final ExecutableElement method, final ExecutableType methodType) {
+        return type.getSimpleName() + "#" + method.getSimpleName() + "(" + methodType.getParameterTypes().stream()
+                .map(this::rawSimpleName).collect(Collectors.joining(",")) + ")";
+    }
+
+    private String rawSimpleName(final TypeMirror type) {
+        if (type.getKind() == TypeKind.TYPEVAR) {
+            return "Object";
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return rawSimpleName(((ArrayType) type).getComponentType()) + "[]";
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            return ((DeclaredType) type).asElement().getSimpleName().toString();
+        }
+        return type.toString();
+    }
+
+    private static String flatName(final TypeElement type) {
+        final Element enclosing = type.getEnclosingElement();
+        return enclosing instanceof TypeElement ? flatName((TypeElement) enclosing) + "_" + type.getSimpleName()
+                : type.getSimpleName().toString();
+    }
+
+    private static PackageElement packageOf(final Element element) {
+        Element current = element;
+        while (!(current instanceof PackageElement)) {
+            current = current.getEnclosingElement();
+        }
+        return (PackageElement) current;
+    }
+
+    private void error(final Element element, final String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -27,15 +27,19 @@ import org.junit.Before;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.springframework.http.client.Netty4ClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.client.AsyncRestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 
+import static feign.AbstractTest.HTTP_CLIENT_IMPL.APACHE_ASYNC;
 import static feign.AbstractTest.HTTP_CLIENT_IMPL.REACTOR_NETTY;
 import static feign.AbstractTest.HTTP_CLIENT_IMPL.SPRING_ASYNC;
+import static feign.AbstractTest.HTTP_CLIENT_IMPL.SPRING_WEBCLIENT;
 
 @RunWith(Parameterized.class)
 public abstract class AbstractTest {
@@ -47,10 +51,11 @@ public abstract class AbstractTest {
     private static AsyncRestTemplate asyncRestTemplate;
     private static AsyncFeignHttpClient feignHttpClient;
     private static HttpClient httpClient;
+    private static ApacheAsyncFeignHttpClient apacheHttpClient;
 
     @Parameterized.Parameters(name = "{index}: Test with HTTP_CLIENT_IMPL={0}")
     public static Collection<Object[]> data() {
-        Object[][] data = new Object[][]{{SPRING_ASYNC}, {REACTOR_NETTY}};
+        Object[][] data = new Object[][]{{SPRING_ASYNC}, {REACTOR_NETTY}, {SPRING_WEBCLIENT}, {APACHE_ASYNC}};
         return Arrays.asList(data);
     }
 
@@ -63,8 +68,16 @@ public abstract class AbstractTest {
                 feignHttpClient = null;
                 break;
             case REACTOR_NETTY:
+            case SPRING_WEBCLIENT:
                 httpClient = null;
                 break;
+            case APACHE_ASYNC:
+                if (apacheHttpClient != null) {
+                    apacheHttpClient.close();
+                    apacheHttpClient = null;
+                }
+                feignHttpClient = null;
+                break;
             default:
                 throw new IllegalArgumentException("Unknown rest client type");
         }
@@ -87,6 +100,21 @@ public abstract class AbstractTest {
                 httpClient = HttpClient.create();
                 feignHttpClient = new ReactorNettyFeignHttpClient(httpClient);
 
+                break;
+            case SPRING_WEBCLIENT:
+                httpClient = HttpClient.create();
+                feignHttpClient = new SpringWebClientFeignHttpClient(WebClient.builder()
+                        .clientConnector(new ReactorClientHttpConnector(httpClient)).build());
+
+                break;
+            case APACHE_ASYNC:
+                // I/O reactor threads are started per client, so one client is created on first use and closed by
+                // closeHttpClient() once all tests of the class ran
+                if (apacheHttpClient == null) {
+                    apacheHttpClient = ApacheAsyncFeignHttpClient.builder().build();
+                }
+                feignHttpClient = apacheHttpClient;
+
                 break;
             default:
                 throw new IllegalArgumentException("Unknown rest client type");
@@ -115,6 +143,21 @@ public abstract class AbstractTest {
                                 tcpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeout));
                 feignHttpClient = new ReactorNettyFeignHttpClient(httpClient);
 
+                break;
+            case SPRING_WEBCLIENT:
+                httpClient = HttpClient.create()
+                        .doOnRequest((httpClientRequest, conn) ->
+                                conn.addHandler(new ReadTimeoutHandler(timeout, TimeUnit.MILLISECONDS)))
+                        .tcpConfiguration(tcpClient ->
+                                tcpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeout));
+                feignHttpClient = new SpringWebClientFeignHttpClient(WebClient.builder()
+                        .clientConnector(new ReactorClientHttpConnector(httpClient)).build());
+
+                break;
+            case APACHE_ASYNC:
+                // timeouts are those of getOptionsWithTimeout, applied per request
+                feignHttpClient = getOrCreateHttpClient();
+
                 break;
             default:
                 throw new IllegalArgumentException("Unknown rest client type");
@@ -123,7 +166,15 @@ public abstract class AbstractTest {
         return feignHttpClient;
     }
 
+    /**
+     * @return request options with the given connect and read timeouts, only back-ends applying {@link Request.Options}
+     * per request use them
+     */
+    public Request.Options getOptionsWithTimeout(int timeout) {
+        return new Request.Options(timeout, timeout);
+    }
+
     public enum HTTP_CLIENT_IMPL {
-        SPRING_ASYNC, REACTOR_NETTY
+        SPRING_ASYNC, REACTOR_NETTY, SPRING_WEBCLIENT, APACHE_ASYNC
     }
 }
@@ -45,6 +45,24 @@ public class AsyncUtilsTest {
         Assert.assertNotNull("StopWatch must be set", cf.getFeignContext().getRequest());
     }
 
+    @Test
+    public void executionTracerRecordsNanos() {
+        CompletableFuture<Object> success = CompletableFuture.supplyAsync(() -> {
+            Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+            return "success";
+        });
+
+        FeignContext context = new FeignContext();
+        FeignCompletableFuture<Object> cf = AsyncUtils.executionTracerIfAny(
+                Request.create(Request.HttpMethod.POST, "https://bla.com", new HashMap<>(), null, Charset.defaultCharset()),
+                context, System.nanoTime(), FeignMethodMetrics.NOOP, success);
+
+        cf.join();
+        Assert.assertTrue("Nanos must be set", cf.getFeignContext().getExecutionNanos() >= TimeUnit.MILLISECONDS.toNanos(10));
+        Assert.assertEquals(TimeUnit.NANOSECONDS.toMillis(cf.getFeignContext().getExecutionNanos()),
+                cf.getFeignContext().getExecutionMillis());
+    }
+
     @Test
     public void executionTracerSuccess3sec() {
         CompletableFuture<Object> success = CompletableFuture.supplyAsync(() -> {
@@ -41,14 +41,21 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -85,9 +92,15 @@ public class BaseHttpClientTest extends AbstractTest {
                 .decoder(new JacksonDecoder(TestUtils.MAPPER)).logger(new Slf4jLogger()).logLevel(Logger.Level.FULL)
                 .target(IceCreamService.class, "http://localhost:8089");
 
-        client.toString();
-        client.hashCode();
-        client.equals(client);
+        IceCreamService other = AsyncFeign.builder().asyncHttpClient(getOrCreateHttpClient())
+                .target(IceCreamService.class, "http://localhost:8089");
+
+        assertThat(client.toString()).contains("http://localhost:8089");
+        assertThat(client.hashCode()).isEqualTo(other.hashCode());
+        assertThat(client.equals(client)).isTrue();
+        assertThat(client.equals(other)).isTrue();
+        assertThat(client.equals("http://localhost:8089")).isFalse();
+        assertThat(client.equals(null)).isFalse();
     }
 
     @Test
@@ -152,6 +165,208 @@ public class BaseHttpClientTest extends AbstractTest {
         removeStub(stubMapping);
     }
 
+    @Test
+    public void testFindOrderPhaseTimings_success() throws ExecutionException, InterruptedException {
+
+        IceCreamOrder order = generator.generate();
+        int orderId = order.getId();
+        String orderStr = TestUtils.encodeAsJsonString(order);
+
+        StubMapping stubMapping = stubFor(get(urlEqualTo("/icecream/orders/" + orderId)).withHeader("Accept", equalTo("application/json"))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json").withBody(orderStr)));
+
+        IceCreamService client = AsyncFeign.builder().asyncHttpClient(getOrCreateHttpClient())
+                .decoder(new JacksonDecoder(TestUtils.MAPPER)).target(IceCreamService.class, "http://localhost:8089");
+
+        CompletableFuture<IceCreamOrder> future = client.findOrder(orderId);
+        future.get();
+
+        assertThat(future).isInstanceOf(FeignCompletableFuture.class);
+        FeignContext context = ((FeignCompletableFuture<IceCreamOrder>) future).getFeignContext();
+        assertThat(context.getAttempts()).isEqualTo(1);
+        assertThat(context.getPhaseNanos(FeignContext.Phase.TEMPLATE_BUILD)).isPositive();
+        assertThat(context.getPhaseNanos(FeignContext.Phase.FIRST_BYTE)).isPositive();
+        assertThat(context.getPhaseNanos(FeignContext.Phase.DECODE)).isPositive();
+        assertThat(context.getPhaseNanos(FeignContext.Phase.RETRY)).isZero();
+        assertThat(context.getExecutionNanos()).isGreaterThanOrEqualTo(context.getPhaseNanos(FeignContext.Phase.FIRST_BYTE));
+
+        removeStub(stubMapping);
+    }
+
+    @Test
+    public void testFindOrderMetrics_success() throws ExecutionException, InterruptedException {
+
+        StubMapping stubMapping = stubFor(get(urlEqualTo("/icecream/orders/123")).withHeader("Accept", equalTo("application/json"))
+                .willReturn(aResponse().withStatus(404)));
+
+        FeignMetricsRegistry registry = new FeignMetricsRegistry();
+        IceCreamService client = AsyncFeign.builder().asyncHttpClient(getOrCreateHttpClient()).metrics(registry)
+                .decoder(new JacksonDecoder(TestUtils.MAPPER)).target(IceCreamService.class, "http://localhost:8089");
+
+        client.findOrder(123).exceptionally(ex -> null).get();
+
+        FeignMethodStats stats = registry.getMethod("IceCreamService#findOrder(int)");
+        assertThat(stats).isNotNull();
+        assertThat(stats.getLatency().getCount()).isEqualTo(1);
+        assertThat(stats.getLatency().getMax()).isPositive();
+        assertThat(stats.getStatusClassCount(4)).isEqualTo(1);
+        assertThat(stats.getStatusCount(404)).isEqualTo(1);
+        assertThat(stats.getStatusCount(400)).isZero();
+        assertThat(stats.getFailures()).isEqualTo(1);
+        assertThat(stats.getInFlight()).isZero();
+
+        removeStub(stubMapping);
+    }
+
+    @Test
+    public void testLazyMethodHandlers_success() throws ExecutionException, InterruptedException {
+
+        StubMapping stubMapping = stubFor(get(urlEqualTo("/icecream/orders/123")).withHeader("Accept", equalTo("application/json"))
+                .willReturn(aResponse().withStatus(404)));
+
+        IceCreamService client = AsyncFeign.builder().asyncHttpClient(getOrCreateHttpClient())
+                .lazyMethodHandlers("IceCreamService#getAvailableFlavors()")
+                .decoder(new JacksonDecoder(TestUtils.MAPPER)).target(IceCreamService.class, "http://localhost:8089");
+        IceCreamService derived = AsyncFeign.derive(client, "http://127.0.0.1:8089");
+
+        for (IceCreamService service : Arrays.asList(client, derived)) {
+            service.findOrder(123).exceptionally(ex -> {
+                assertThat(ex).hasMessageContaining("404");
+                return null;
+            }).get();
+        }
+        verify(2, getRequestedFor(urlEqualTo("/icecream/orders/123")));
+
+        removeStub(stubMapping);
+    }
+
+    @Test
+    public void testErrorResponseHeaders_success() throws InterruptedException {
+
+        StubMapping stubMapping = stubFor(get(urlEqualTo("/icecream/orders/123")).withHeader("Accept", equalTo("application/json"))
+                .willReturn(aResponse().withStatus(404).withHeader("X-Reason", "order-not-found").withBody("missing")));
+
+        AtomicReference<Response> errorResponse = new AtomicReference<>();
+        IceCreamService client = AsyncFeign.builder().asyncHttpClient(getOrCreateHttpClient())
+                .errorDecoder((methodKey, response) -> {
+                    errorResponse.set(response);
+                    return FeignException.errorStatus(methodKey, response);
+                })
+                .decoder(new JacksonDecoder(TestUtils.MAPPER)).target(IceCreamService.class, "http://localhost:8089");
+
+        try {
+            client.findOrder(123).get();
+            Assertions.fail("FeignException is expected");
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause()).isInstanceOf(FeignException.class);
+        }
+        assertThat(errorResponse.get().status()).isEqualTo(404);
+        assertThat(errorResponse.get().headers()).containsKey("X-Reason");
+        assertThat(errorResponse.get().headers().get("X-Reason")).containsExactly("order-not-found");
+
+        removeStub(stubMapping);
+    }
+
+    @Test
+    public void testRepeatedResponseHeaders_success() throws ExecutionException, InterruptedException {
+
+        StubMapping stubMapping = stubFor(get(urlEqualTo("/icecream/flavors"))
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json")
+                        .withHeader("Set-Cookie", "a=1", "b=2").withBody("[\"STRAWBERRY\"]")));
+
+        AtomicReference<Response> response = new AtomicReference<>();
+        JacksonDecoder decoder = new JacksonDecoder(TestUtils.MAPPER);
+        IceCreamService client = AsyncFeign.builder().asyncHttpClient(getOrCreateHttpClient())
+                .decoder((r, type) -> {
+                    response.set(r);
+                    return decoder.decode(r, type);
+                })
+                .target(IceCreamService.class, "http://localhost:8089");
+
+        client.getAvailableFlavors().get();
+
+        assertThat(response.get().headers().get("set-cookie")).hasSize(2).contains("a=1", "b=2");
+
+        removeStub(stubMapping);
+    }
+
+    @Test
+    public void testWarmUp_success() throws ExecutionException, InterruptedException {
+
+        StubMapping stubMapping = stubFor(head(urlEqualTo("/")).willReturn(aResponse().withStatus(404)));
+
+        IceCreamService client = AsyncFeign.builder().asyncHttpClient(getOrCreateHttpClient())
+                .lazyMethodHandlers()
+                .decoder(new JacksonDecoder(TestUtils.MAPPER)).target(IceCreamService.class, "http://localhost:8089");
+
+        AsyncFeign.warmUp(client, 2).get();
+
+        assertThat(((AsyncInvocationHandler) Proxy.getInvocationHandler(client)).getHandlers().stream()
+                .filter(handler -> handler instanceof LazyMethodHandler)
+                .allMatch(handler -> ((LazyMethodHandler) handler).isMaterialized())).isTrue();
+        verify(httpClientType == HTTP_CLIENT_IMPL.SPRING_ASYNC ? 0 : 2, headRequestedFor(urlEqualTo("/")));
+        verify(0, getRequestedFor(anyUrl()));
+
+        removeStub(stubMapping);
+    }
+
+    @Test
+    public void testDerivedClient_success() throws ExecutionException, InterruptedException {
+
+        StubMapping stubMapping = stubFor(get(urlEqualTo("/icecream/orders/123")).withHeader("Accept", equalTo("application/json"))
+                .willReturn(aResponse().withStatus(404)));
+
+        IceCreamService client = AsyncFeign.builder().asyncHttpClient(getOrCreateHttpClient())
+                .decoder(new JacksonDecoder(TestUtils.MAPPER)).target(IceCreamService.class, "http://localhost:1");
+        IceCreamService derived = AsyncFeign.derive(client, "http://localhost:8089");
+        IceCreamService derivedTwice = AsyncFeign.derive(derived, new Target.HardCodedTarget<>(IceCreamService.class,
+                "http://127.0.0.1:8089"), true);
+
+        assertThat(derived).isNotEqualTo(client);
+        assertThat(derived.toString()).contains("http://localhost:8089");
+        assertThat(derivedTwice.toString()).contains("http://127.0.0.1:8089");
+        for (IceCreamService service : Arrays.asList(derived, derivedTwice)) {
+            service.findOrder(123).exceptionally(ex -> {
+                assertThat(ex).hasMessageContaining("404");
+                return null;
+            }).get();
+        }
+        verify(2, getRequestedFor(urlEqualTo("/icecream/orders/123")));
+
+        removeStub(stubMapping);
+    }
+
+    @Test
+    public void testFindOrderTracing_success() throws ExecutionException, InterruptedException {
+
+        StubMapping stubMapping = stubFor(get(urlEqualTo("/icecream/orders/123")).withHeader("Accept", equalTo("application/json"))
+                .willReturn(aResponse().withStatus(404)));
+
+        TraceContext parent = TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01", "congo=t61rcWkgMzE");
+        CompletableFuture<W3CFeignTracer.ClientSpan> reported = new CompletableFuture<>();
+        IceCreamService client = AsyncFeign.builder().asyncHttpClient(getOrCreateHttpClient())
+                .tracer(new W3CFeignTracer(0.0, reported::complete))
+                .decoder(new JacksonDecoder(TestUtils.MAPPER)).target(IceCreamService.class, "http://localhost:8089");
+
+        try (FeignSpan.Scope ignored = parent.makeCurrent()) {
+            client.findOrder(123).exceptionally(ex -> null).get();
+        }
+
+        W3CFeignTracer.ClientSpan span = reported.get();
+        assertThat(span.getName()).isEqualTo("IceCreamService#findOrder(int)");
+        assertThat(span.getParent()).isEqualTo(parent);
+        assertThat(span.getTraceContext().getTraceIdHex()).isEqualTo(parent.getTraceIdHex());
+        assertThat(span.getError()).isInstanceOf(FeignException.class);
+        assertThat(span.getFeignContext().getStatus()).isEqualTo(404);
+        assertThat(span.getDurationNanos()).isPositive();
+        verify(getRequestedFor(urlEqualTo("/icecream/orders/123"))
+                .withHeader(TraceContext.TRACEPARENT, equalTo(span.getTraceContext().toTraceparent()))
+                .withHeader(TraceContext.TRACESTATE, equalTo("congo=t61rcWkgMzE")));
+
+        removeStub(stubMapping);
+    }
+
     @Test
     public void testFindOrder_404() throws ExecutionException, InterruptedException {
 
@@ -224,6 +439,57 @@ public class BaseHttpClientTest extends AbstractTest {
         removeStub(stubMapping);
     }
 
+    @Test
+    public void testMakeOrderStreamingEncoder_success() throws ExecutionException, InterruptedException {
+
+        IceCreamOrder order = generator.generate();
+        Bill bill = Bill.makeBill(order);
+        String orderStr = TestUtils.encodeAsJsonString(order);
+        String billStr = TestUtils.encodeAsJsonString(bill);
+
+        StubMapping stubMapping = stubFor(post(urlEqualTo("/icecream/orders"))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json").withBody(billStr)));
+
+        IceCreamService client = AsyncFeign.builder().asyncHttpClient(getOrCreateHttpClient())
+                .encoder(new JacksonStreamingEncoder(TestUtils.MAPPER)).decoder(new JacksonDecoder(TestUtils.MAPPER))
+                .target(IceCreamService.class, "http://localhost:8089");
+
+        Bill bill2 = client.makeOrder(order).get();
+        Assertions.assertThat(bill2).isEqualToComparingFieldByFieldRecursively(bill);
+        verify(postRequestedFor(urlEqualTo("/icecream/orders")).withRequestBody(equalToJson(orderStr)));
+
+        removeStub(stubMapping);
+    }
+
+    @Test
+    public void testCompression_success() throws Exception {
+
+        IceCreamOrder order = generator.generate();
+        Bill bill = Bill.makeBill(order);
+        ByteArrayOutputStream gzippedBill = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzippedBill)) {
+            out.write(TestUtils.encodeAsJsonString(bill).getBytes(StandardCharsets.UTF_8));
+        }
+
+        StubMapping stubMapping = stubFor(post(urlEqualTo("/icecream/orders"))
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json")
+                        .withHeader("Content-Encoding", "gzip").withBody(gzippedBill.toByteArray())));
+
+        IceCreamService client = AsyncFeign.builder().asyncHttpClient(getOrCreateHttpClient())
+                .compression(Compression.builder().requests(0).build())
+                .encoder(new JacksonEncoder(TestUtils.MAPPER)).decoder(new JacksonDecoder(TestUtils.MAPPER))
+                .target(IceCreamService.class, "http://localhost:8089");
+
+        Bill bill2 = client.makeOrder(order).get();
+        Assertions.assertThat(bill2).isEqualToComparingFieldByFieldRecursively(bill);
+        verify(postRequestedFor(urlEqualTo("/icecream/orders"))
+                .withHeader("Accept-Encoding", equalTo("gzip"))
+                .withHeader("Content-Encoding", equalTo("gzip")));
+
+        removeStub(stubMapping);
+    }
+
     @Test
     public void testPayBill_success() throws ExecutionException, InterruptedException {
 
@@ -240,6 +506,46 @@ public class BaseHttpClientTest extends AbstractTest {
         removeStub(stubMapping);
     }
 
+    @Test
+    public void testPayBillDiscardedResponseBody_success() throws ExecutionException, InterruptedException {
+
+        Bill bill = Bill.makeBill(generator.generate());
+        String billStr = TestUtils.encodeAsJsonString(bill);
+
+        StubMapping stubMapping = stubFor(post(urlEqualTo("/icecream/bills/pay"))
+                .willReturn(aResponse().withStatus(200).withBody(new byte[64 * 1024])));
+
+        IceCreamService client = AsyncFeign.builder().asyncHttpClient(getOrCreateHttpClient())
+                .maxResponseBodySize(16)
+                .encoder(new JacksonEncoder(TestUtils.MAPPER)).target(IceCreamService.class, "http://localhost:8089");
+
+        // body of Void method isn't aggregated, so the limit doesn't apply
+        client.payBill(bill).get();
+        verify(postRequestedFor(urlEqualTo("/icecream/bills/pay")).withRequestBody(equalToJson(billStr)));
+        removeStub(stubMapping);
+    }
+
+    @Test
+    public void testMaxResponseBodySize_failure() throws InterruptedException {
+
+        IceCreamOrder order = generator.generate();
+        StubMapping stubMapping = stubFor(get(urlEqualTo("/icecream/orders/" + order.getId()))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json").withBody(TestUtils.encodeAsJsonString(order))));
+
+        IceCreamService client = AsyncFeign.builder().asyncHttpClient(getOrCreateHttpClient())
+                .maxResponseBodySize("IceCreamService#findOrder(int)", 16)
+                .decoder(new JacksonDecoder(TestUtils.MAPPER)).target(IceCreamService.class, "http://localhost:8089");
+
+        try {
+            client.findOrder(order.getId()).get();
+            Assertions.fail("ResponseBodyTooLargeException is expected");
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause()).isInstanceOf(ResponseBodyTooLargeException.class);
+        }
+        removeStub(stubMapping);
+    }
+
     @Test
     public void testPayBillCircuitBreakerAndRetry_success() throws ExecutionException, InterruptedException {
 
@@ -323,6 +629,30 @@ public class BaseHttpClientTest extends AbstractTest {
 
     }
 
+    @Test
+    public void testUploadFile_success() throws Exception {
+
+        Path menu = Files.createTempFile("menu", ".txt");
+        try {
+            Files.write(menu, "STRAWBERRY,VANILLA".getBytes(StandardCharsets.UTF_8));
+            StubMapping stubMapping = stubFor(post(urlEqualTo("/icecream/menu")).willReturn(aResponse().withStatus(200)));
+
+            ProductService client = AsyncFeign.builder().asyncHttpClient(getOrCreateHttpClient())
+                    .target(ProductService.class, "http://localhost:8089");
+
+            client.uploadMenu(menu).get();
+            client.uploadMenuPart(FileBody.of(menu, 11, 7)).get();
+
+            verify(postRequestedFor(urlEqualTo("/icecream/menu"))
+                    .withHeader("Content-Length", equalTo("18")).withRequestBody(equalTo("STRAWBERRY,VANILLA")));
+            verify(postRequestedFor(urlEqualTo("/icecream/menu"))
+                    .withHeader("Content-Length", equalTo("7")).withRequestBody(equalTo("VANILLA")));
+            removeStub(stubMapping);
+        } finally {
+            Files.delete(menu);
+        }
+    }
+
     @Test
     public void testInstantiationBrokenContract_throwsException() {
         expectedException.expect(IllegalStateException.class);
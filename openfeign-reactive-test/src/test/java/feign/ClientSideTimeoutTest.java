@@ -36,6 +36,7 @@ import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 
+import java.io.InterruptedIOException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -62,13 +63,14 @@ public class ClientSideTimeoutTest extends AbstractTest {
                 .willReturn(aResponse().withFixedDelay(1000)));
 
         IceCreamService client = AsyncFeign.builder().asyncHttpClient(getHttpClientWithTimeout(10))
+                .options(getOptionsWithTimeout(10))
                 .encoder(new FormEncoder(new JacksonEncoder(TestUtils.MAPPER))).logger(new Slf4jLogger())
                 .logLevel(Logger.Level.FULL).target(IceCreamService.class, "http://localhost:8089");
 
         try {
             client.authorization("test@github.com", "test-123456").get();
         } catch (Exception ex) {
-            caughtTimeout = ex.getCause() instanceof ReadTimeoutException;
+            caughtTimeout = isReadTimeout(ex.getCause());
         }
         Assert.assertTrue("Timeout exception is expected: ", caughtTimeout);
         removeStub(stubMapping);
@@ -80,13 +82,14 @@ public class ClientSideTimeoutTest extends AbstractTest {
         StubMapping stubMapping = stubFor(post(urlEqualTo("/icecream/authorization")).willReturn(aResponse().withFixedDelay(3000)));
 
         IceCreamService client = AsyncFeign.builder().asyncHttpClient(getHttpClientWithTimeout(10))
+                .options(getOptionsWithTimeout(10))
                 .encoder(new FormEncoder(new JacksonEncoder(TestUtils.MAPPER))).logger(new Slf4jLogger())
                 .logLevel(Logger.Level.FULL).target(IceCreamService.class, "http://9.162.252.200:9093");
 
         try {
             client.authorization("test@gihub.com", "test-123456").get();
         } catch (Exception ex) {
-            caughtTimeout = ex.getCause() instanceof ConnectTimeoutException;
+            caughtTimeout = isConnectTimeout(ex.getCause());
         }
         Assert.assertTrue("Connection timeout exception is expected: ", caughtTimeout);
         removeStub(stubMapping);
@@ -99,6 +102,7 @@ public class ClientSideTimeoutTest extends AbstractTest {
                 .willReturn(aResponse().withFixedDelay(3000)));
 
         IceCreamService client = AsyncFeign.builder().asyncHttpClient(getHttpClientWithTimeout(10))
+                .options(getOptionsWithTimeout(10))
                 .encoder(new FormEncoder(new JacksonEncoder(TestUtils.MAPPER)))
                 .circuitBreakerConfig(CircuitBreakerConfig.custom().failureRateThreshold(Circuit.failureRateThreshold)
                         .ringBufferSizeInClosedState(Circuit.ringBufferSizeInClosedState)
@@ -120,7 +124,7 @@ public class ClientSideTimeoutTest extends AbstractTest {
             try {
                 client.authorization("test@github.com", "test-123456").get();
             } catch (Exception ex2) {
-                caughtCircuitBreaker = ex2.getCause() instanceof ReadTimeoutException;
+                caughtCircuitBreaker = isReadTimeout(ex2.getCause());
             }
         }
 
@@ -128,6 +132,19 @@ public class ClientSideTimeoutTest extends AbstractTest {
         removeStub(stubMapping);
     }
 
+    /**
+     * Apache back-end reports timeouts of {@link Request.Options} as {@link InterruptedIOException}
+     */
+    private boolean isReadTimeout(Throwable cause) {
+        return httpClientType == HTTP_CLIENT_IMPL.APACHE_ASYNC
+                ? cause instanceof InterruptedIOException : cause instanceof ReadTimeoutException;
+    }
+
+    private boolean isConnectTimeout(Throwable cause) {
+        return httpClientType == HTTP_CLIENT_IMPL.APACHE_ASYNC
+                ? cause instanceof InterruptedIOException : cause instanceof ConnectTimeoutException;
+    }
+
     public static class Circuit {
         static int failureRateThreshold = 12;
         static int ringBufferSizeInHalfOpenState = 10;
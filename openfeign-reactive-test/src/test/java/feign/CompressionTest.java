@@ -0,0 +1,124 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressionTest {
+
+    private static final byte[] BODY = String.join(",", Collections.nCopies(200, "\"STRAWBERRY\"")).getBytes(Util.UTF_8);
+
+    private final Compression compression = Compression.builder()
+            .requests(1024)
+            .requests("IceCreamService#payBill(Bill)", -1)
+            .poolSize(1)
+            .build();
+
+    @Test
+    public void testCompressRequest_readableByGzipInputStream() throws IOException {
+        Request compressed = compression.compress(request(BODY), "IceCreamService#makeOrder(IceCreamOrder)");
+
+        assertThat(compressed.headers().get("Content-Encoding")).containsExactly("gzip");
+        assertThat(compressed.headers().get("Content-Length"))
+                .containsExactly(String.valueOf(compressed.requestBody().asBytes().length));
+        assertThat(Util.toByteArray(new GZIPInputStream(new ByteArrayInputStream(compressed.requestBody().asBytes()))))
+                .isEqualTo(BODY);
+    }
+
+    @Test
+    public void testCompressRequest_belowThresholdOrDisabledForMethod() {
+        Request small = request("{}".getBytes(Util.UTF_8));
+        Request large = request(BODY);
+
+        assertThat(compression.compress(small, "IceCreamService#makeOrder(IceCreamOrder)")).isSameAs(small);
+        assertThat(compression.compress(large, "IceCreamService#payBill(Bill)")).isSameAs(large);
+    }
+
+    @Test
+    public void testCompressStreamingBody_readableByGzipInputStream() throws IOException {
+        RequestBodyWriter writer = compression.compress(request(null), out -> out.write(BODY),
+                "IceCreamService#makeOrder(IceCreamOrder)");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTo(out);
+
+        assertThat(Util.toByteArray(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())))).isEqualTo(BODY);
+    }
+
+    @Test
+    public void testCompressFileBody_thresholdAndCompressedFormats() throws IOException {
+        Path small = Files.write(Files.createTempFile("order", ".json"), "{}".getBytes(Util.UTF_8));
+        Path large = Files.write(Files.createTempFile("order", ".json"), BODY);
+        Path archive = Files.write(Files.createTempFile("order", ".GZ"), BODY);
+        try {
+            String configKey = "IceCreamService#makeOrder(IceCreamOrder)";
+            assertThat(compression.compress(request(null), FileBody.of(small), configKey)).isNull();
+            assertThat(compression.compress(request(null), FileBody.of(archive), configKey)).isNull();
+            assertThat(compression.compress(request(null), FileBody.of(large, 0, 16), configKey)).isNull();
+
+            RequestBodyWriter writer = compression.compress(request(null), FileBody.of(large), configKey);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writer.writeTo(out);
+            assertThat(Util.toByteArray(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))))
+                    .isEqualTo(BODY);
+        } finally {
+            Files.delete(small);
+            Files.delete(large);
+            Files.delete(archive);
+        }
+    }
+
+    @Test
+    public void testDecompressResponse_streaming() throws IOException {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(BODY);
+        }
+
+        // inflater is reused from the pool by the second response
+        for (int i = 0; i < 2; i++) {
+            Response response = compression.decompress(Response.builder()
+                    .request(request(null))
+                    .status(200)
+                    .headers(Collections.singletonMap("Content-Encoding", Collections.singletonList("gzip")))
+                    .body(gzipped.toByteArray())
+                    .build());
+
+            assertThat(response.headers()).doesNotContainKey("Content-Encoding");
+            assertThat(Util.toByteArray(response.body().asInputStream())).isEqualTo(BODY);
+        }
+    }
+
+    private static Request request(final byte[] body) {
+        return Request.create(Request.HttpMethod.POST, "http://localhost:8089/icecream/orders",
+                Collections.emptyMap(), body, Util.UTF_8);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import feign.api.IceCreamService;
+import feign.api.IceCreamServiceFallbacks;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContractMetadataCacheTest {
+
+    @Test
+    public void testSameContractInstance_cached() {
+        Contract contract = new Contract.Default();
+
+        ContractMetadataCache.Entry first = ContractMetadataCache.get(new AsyncDelegatingContract(contract), IceCreamService.class);
+        ContractMetadataCache.Entry second = ContractMetadataCache.get(new AsyncDelegatingContract(contract), IceCreamService.class);
+        ContractMetadataCache.Entry other = ContractMetadataCache.get(new AsyncDelegatingContract(new Contract.Default()),
+                IceCreamService.class);
+
+        assertThat(second).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(first.getMetadata()).isNotEmpty();
+    }
+
+    @Test
+    public void testFallbacksCopiedPerClient_success() {
+        ContractMetadataCache.Entry entry = ContractMetadataCache.get(new AsyncDelegatingContract(new Contract.Default()),
+                IceCreamServiceFallbacks.class);
+
+        AsyncDelegatingContract.FallbackIndex copy = entry.getFallbacks().copy();
+
+        assertThat(copy.getByConfigKey()).hasSameSizeAs(entry.getFallbacks().getByConfigKey());
+        copy.getByConfigKey().forEach((configKey, handler) -> {
+            assertThat(handler).isNotSameAs(entry.getFallbacks().getByConfigKey().get(configKey));
+            assertThat(handler.getFallbackMethod()).isEqualTo(entry.getFallbacks().getByConfigKey().get(configKey).getFallbackMethod());
+            assertThat(handler.getDefaultMethodHandler()).isNull();
+        });
+    }
+}
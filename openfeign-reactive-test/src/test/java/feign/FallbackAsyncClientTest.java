@@ -22,6 +22,7 @@ package feign;
 
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import feign.api.GeneratedIceCreamServiceFallbacks;
 import feign.api.IceCreamServiceFallbacks;
 import feign.api.NonInstantiablePredicate;
 import feign.api.NonMatchingFallbackMethod;
@@ -62,6 +63,78 @@ public class FallbackAsyncClientTest extends AbstractTest {
                 .target(IceCreamServiceFallbacks.class, "http://localhost:8089");
     }
 
+    @Test
+    public void testProxyClient_success() {
+        IceCreamServiceFallbacks other = AsyncFeign.builder().asyncHttpClient(getOrCreateHttpClient())
+                .target(IceCreamServiceFallbacks.class, "http://localhost:8089");
+
+        assertThat(client).isNotInstanceOf(GeneratedAsyncClient.class).isEqualTo(other);
+        assertThat(client.hashCode()).isEqualTo(other.hashCode());
+        assertThat(client.toString()).contains("http://localhost:8089");
+    }
+
+    @Test
+    public void testGeneratedClient_success() {
+        GeneratedIceCreamServiceFallbacks generated = generatedClient();
+        GeneratedIceCreamServiceFallbacks other = generatedClient();
+
+        assertThat(generated).isInstanceOf(GeneratedAsyncClient.class).isEqualTo(other);
+        assertThat(generated.hashCode()).isEqualTo(other.hashCode());
+        assertThat(generated.toString()).contains("http://localhost:8089");
+    }
+
+    @Test
+    public void testGeneratedClientFallback_success() {
+
+        int currFallbackCount = GeneratedIceCreamServiceFallbacks.fallbackCount.get();
+
+        StubMapping flavorsStub = stubFor(get(urlEqualTo("/icecream/flavors")).withHeader("Accept", equalTo("application/json"))
+                .willReturn(aResponse().withStatus(500).withHeader("Content-Type", "application/json")));
+        StubMapping ordersStub = stubFor(post(urlEqualTo("/icecream/orders"))
+                .willReturn(aResponse().withStatus(500).withHeader("Content-Type", "application/json")));
+
+        GeneratedIceCreamServiceFallbacks generated = generatedClient();
+        assertThat(generated.getAvailableFlavors().join()).isEmpty();
+        assertThat(generated.makeOrder(generator.generate()).join().getPrice()).isEqualTo(0.2F);
+        assertThat(generated.makeOrder2(generator.generate()).join().getPrice()).isEqualTo(0.2F);
+
+        Assert.assertEquals(currFallbackCount + 3, GeneratedIceCreamServiceFallbacks.fallbackCount.get());
+        removeStub(flavorsStub);
+        removeStub(ordersStub);
+    }
+
+    @Test
+    public void testSharedFallbackMethodIndex_success() throws NoSuchMethodException {
+        AsyncDelegatingContract.FallbackIndex index = new AsyncDelegatingContract(new Contract.Default())
+                .getFallbackIndex(IceCreamServiceFallbacks.class);
+
+        assertThat(index.getByConfigKey()).hasSize(5);
+        assertThat(index.getByFallbackMethod().get(IceCreamServiceFallbacks.class
+                .getMethod("makeOrderFallback", IceCreamOrder.class, Throwable.class))).hasSize(3);
+    }
+
+    @Test
+    public void testDerivedClientFallback_success() {
+
+        int currFallbackCount = fallbackCount.get();
+        int currGeneratedFallbackCount = GeneratedIceCreamServiceFallbacks.fallbackCount.get();
+
+        StubMapping stubMapping = stubFor(get(urlEqualTo("/icecream/flavors")).withHeader("Accept", equalTo("application/json"))
+                .willReturn(aResponse().withStatus(500).withHeader("Content-Type", "application/json")));
+
+        IceCreamServiceFallbacks derived = AsyncFeign.derive(client, "http://127.0.0.1:8089");
+        derived.getAvailableFlavors().whenComplete((flavors, throwable) -> assertThat(flavors).isEmpty()).join();
+        GeneratedIceCreamServiceFallbacks generated = generatedClient();
+        GeneratedIceCreamServiceFallbacks generatedDerived = AsyncFeign.derive(generated, "http://127.0.0.1:8089");
+        assertThat(generatedDerived.getAvailableFlavors().join()).isEmpty();
+
+        assertThat(derived).isNotInstanceOf(GeneratedAsyncClient.class).isNotEqualTo(client);
+        assertThat(generatedDerived).isInstanceOf(GeneratedAsyncClient.class).isNotEqualTo(generated);
+        Assert.assertEquals(currFallbackCount + 1, fallbackCount.get());
+        Assert.assertEquals(currGeneratedFallbackCount + 1, GeneratedIceCreamServiceFallbacks.fallbackCount.get());
+        removeStub(stubMapping);
+    }
+
     @Test
     public void testSimpleGetFallbackEmpty_success() {
 
@@ -186,4 +259,9 @@ public class FallbackAsyncClientTest extends AbstractTest {
                 .target(NonMatchingFallbackMethod.class, "http://localhost:8089");
     }
 
+    private GeneratedIceCreamServiceFallbacks generatedClient() {
+        return AsyncFeign.builder().asyncHttpClient(getOrCreateHttpClient())
+                .encoder(new JacksonEncoder(TestUtils.MAPPER)).decoder(new JacksonDecoder(TestUtils.MAPPER))
+                .target(GeneratedIceCreamServiceFallbacks.class, "http://localhost:8089");
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FeignContextTest {
+
+    private static final FeignContext.Key<String> FIRST = FeignContext.Key.of("first", String.class);
+    private static final FeignContext.Key<Integer> SECOND = FeignContext.Key.of("second", Integer.class);
+    private static final FeignContext.Key<Long> THIRD = FeignContext.Key.of("third", Long.class);
+
+    @Test
+    public void testAttributes_success() {
+        FeignContext context = new FeignContext().set(FIRST, "1").set(SECOND, 2).set(THIRD, 3L).set(SECOND, 22);
+
+        assertThat(context.get(FIRST)).isEqualTo("1");
+        assertThat(context.get(SECOND)).isEqualTo(22);
+        assertThat(context.get(THIRD)).isEqualTo(3L);
+
+        context.set(FIRST, null);
+        Map<String, Object> attributes = new HashMap<>();
+        context.forEachAttribute((key, value) -> attributes.put(key.getName(), value));
+
+        assertThat(context.get(FIRST)).isNull();
+        assertThat(attributes).hasSize(2).containsEntry("second", 22).containsEntry("third", 3L);
+    }
+
+    @Test
+    public void testCompletedIsReadOnly_success() {
+        FeignContext context = new FeignContext().setStatus(200).addBytesSent(10).set(FIRST, "1")
+                .setExecutionNanos(2_000_000L).complete();
+
+        context.setStatus(500).addBytesSent(10).set(FIRST, "2").set(SECOND, 2)
+                .addPhaseNanos(FeignContext.Phase.DECODE, 1L).setFallbackUsed(true);
+
+        assertThat(context.isCompleted()).isTrue();
+        assertThat(context.getStatus()).isEqualTo(200);
+        assertThat(context.getBytesSent()).isEqualTo(10);
+        assertThat(context.getExecutionMillis()).isEqualTo(2);
+        assertThat(context.getPhaseNanos(FeignContext.Phase.DECODE)).isZero();
+        assertThat(context.isFallbackUsed()).isFalse();
+        assertThat(context.get(FIRST)).isEqualTo("1");
+        assertThat(context.get(SECOND)).isNull();
+        assertThat(context.nextAttempt()).isZero();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FeignMicrometerBinderTest {
+
+    @Test
+    public void testBindExistingAndNewMethods_success() {
+        FeignMetricsRegistry feignMetrics = new FeignMetricsRegistry();
+        FeignMethodMetrics existing = feignMetrics.forMethod("IceCreamService#getAvailableFlavors()");
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new FeignMicrometerBinder(feignMetrics).bindTo(meterRegistry);
+
+        FeignMethodMetrics added = feignMetrics.forMethod("IceCreamService#getAvailableMixins()");
+
+        FeignContext context = new FeignContext().setStatus(200).addBytesReceived(42);
+        existing.onStart(context);
+        existing.onComplete(context.setExecutionNanos(TimeUnit.MILLISECONDS.toNanos(5)), null);
+        added.onStart(new FeignContext());
+
+        assertThat(meterRegistry.get("feign.client.requests").tag("method", "IceCreamService#getAvailableFlavors()")
+                .functionTimer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("feign.client.responses").tag("method", "IceCreamService#getAvailableFlavors()")
+                .tag("status", "2xx").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("feign.client.bytes.received").tag("method", "IceCreamService#getAvailableFlavors()")
+                .functionCounter().count()).isEqualTo(42);
+        assertThat(meterRegistry.get("feign.client.requests.active").tag("method", "IceCreamService#getAvailableMixins()")
+                .gauge().value()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmpty_success() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+    }
+
+    @Test
+    public void testPercentiles_success() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(1000);
+        assertThat(histogram.getMax()).isEqualTo(TimeUnit.MICROSECONDS.toNanos(1000));
+        assertThat((double) histogram.getValueAtPercentile(50)).isCloseTo(500_000, within(500_000 * 0.04));
+        assertThat((double) histogram.getValueAtPercentile(99)).isCloseTo(990_000, within(990_000 * 0.04));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(histogram.getMax());
+    }
+
+    @Test
+    public void testHugeValue_success() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-1);
+
+        assertThat(histogram.getMax()).isEqualTo(Long.MAX_VALUE);
+        assertThat(histogram.getValueAtPercentile(0)).isZero();
+        assertThat(histogram.getValueAtPercentile(100)).isPositive();
+    }
+
+    @Test
+    public void testOverflowBucket_separate() {
+        long lastRegular = (1L << 37) - 1;
+
+        assertThat(LatencyHistogram.indexOf(1L << 37)).isNotEqualTo(LatencyHistogram.indexOf(lastRegular));
+        assertThat(LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(lastRegular))).isEqualTo(lastRegular);
+        assertThat(LatencyHistogram.indexOf(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.indexOf(1L << 37));
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.SECONDS.toNanos(100));
+        histogram.record(TimeUnit.SECONDS.toNanos(200));
+
+        assertThat((double) histogram.getValueAtPercentile(50)).isCloseTo(TimeUnit.SECONDS.toNanos(100),
+                within(TimeUnit.SECONDS.toNanos(100) * 0.04));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(TimeUnit.SECONDS.toNanos(200));
+    }
+}
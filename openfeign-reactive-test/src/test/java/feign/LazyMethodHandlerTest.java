@@ -0,0 +1,87 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazyMethodHandlerTest {
+
+    @Test
+    public void testMaterializedOnFirstInvocation_success() throws Throwable {
+        AtomicInteger created = new AtomicInteger();
+        LazyMethodHandler handler = new LazyMethodHandler("Api#get()", null, () -> {
+            created.incrementAndGet();
+            return argv -> "result";
+        });
+
+        assertThat(handler.isMaterialized()).isFalse();
+        assertThat(created.get()).isZero();
+        assertThat(handler.invoke(null)).isEqualTo("result");
+        assertThat(handler.invoke(null)).isEqualTo("result");
+        assertThat(handler.isMaterialized()).isTrue();
+        assertThat(created.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testConcurrentFirstInvocation_createdOnce() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        LazyMethodHandler handler = new LazyMethodHandler("Api#get()", null, () -> {
+            created.incrementAndGet();
+            return argv -> "result";
+        });
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<MethodHandler>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return handler.get();
+                }));
+            }
+            start.countDown();
+
+            Set<MethodHandler> published = ConcurrentHashMap.newKeySet();
+            for (Future<MethodHandler> future : futures) {
+                published.add(future.get(5, TimeUnit.SECONDS));
+            }
+            assertThat(published).hasSize(1).containsExactly(handler.get());
+            assertThat(created.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
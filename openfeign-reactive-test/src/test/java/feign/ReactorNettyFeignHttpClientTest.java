@@ -0,0 +1,285 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import feign.api.IceCreamService;
+import feign.api.ProductService;
+import feign.api.domain.Flavor;
+import feign.jackson.JacksonDecoder;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReactorNettyFeignHttpClientTest {
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(8089);
+
+    @Test
+    public void testNioTransport_success() throws Exception {
+        stubFor(get(urlEqualTo("/icecream/flavors"))
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json")
+                        .withBody("[\"STRAWBERRY\"]")));
+
+        try (ReactorNettyFeignHttpClient httpClient = ReactorNettyFeignHttpClient.builder()
+                .preferNative(false)
+                .workerCount(1)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .build()) {
+            assertThat(httpClient.getTransport()).isEqualTo(ReactorNettyFeignHttpClient.Transport.NIO);
+
+            IceCreamService client = AsyncFeign.builder().asyncHttpClient(httpClient)
+                    .decoder(new JacksonDecoder(TestUtils.MAPPER)).target(IceCreamService.class, "http://localhost:8089");
+            Collection<Flavor> flavors = client.getAvailableFlavors().get();
+
+            assertThat(flavors).containsExactly(Flavor.STRAWBERRY);
+        }
+    }
+
+    @Test
+    public void testPreferNativeTransport_selected() {
+        try (ReactorNettyFeignHttpClient httpClient = ReactorNettyFeignHttpClient.builder().build()) {
+            assertThat(httpClient.getTransport()).isEqualTo(ReactorNettyFeignHttpClient.Transport.select(true));
+            assertThat(httpClient.getTransport().isAvailable()).isTrue();
+        }
+    }
+
+    @Test
+    public void testProvidedHttpClient_transportUnknown() {
+        assertThat(new ReactorNettyFeignHttpClient(reactor.netty.http.client.HttpClient.create()).getTransport()).isNull();
+    }
+
+    @Test
+    public void testTargetConnectionPool_metrics() throws Exception {
+        stubFor(get(urlEqualTo("/icecream/flavors"))
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json")
+                        .withBody("[\"STRAWBERRY\"]")));
+
+        try (ReactorNettyFeignHttpClient httpClient = ReactorNettyFeignHttpClient.builder()
+                .workerCount(1)
+                .connectionPool("http://localhost:8089/icecream", ConnectionPoolSettings.builder()
+                        .maxConnections(2)
+                        .maxPendingAcquires(16)
+                        .maxIdleTimeMillis(60_000)
+                        .build())
+                .build()) {
+            IceCreamService client = AsyncFeign.builder().asyncHttpClient(httpClient)
+                    .decoder(new JacksonDecoder(TestUtils.MAPPER)).target(IceCreamService.class, "http://localhost:8089");
+            for (int i = 0; i < 3; i++) {
+                assertThat(client.getAvailableFlavors().get()).containsExactly(Flavor.STRAWBERRY);
+            }
+
+            Map<String, ConnectionPoolMetrics> poolMetrics = httpClient.getPoolMetrics();
+            assertThat(poolMetrics).containsOnlyKeys(ReactorNettyFeignHttpClient.DEFAULT_POOL, "http://localhost:8089");
+            ConnectionPoolMetrics metrics = poolMetrics.get("http://localhost:8089");
+            assertThat(metrics.getActive()).isEqualTo(0);
+            assertThat(metrics.getPendingAcquires()).isEqualTo(0);
+            assertThat(metrics.getOpened()).isBetween(1L, 2L);
+            assertThat(Arrays.stream(metrics.getAcquireLatencyHistogram()).sum()).isEqualTo(3L);
+        }
+    }
+
+    @Test
+    public void testUnconfiguredTargets_defaultPool() throws Exception {
+        stubFor(get(urlEqualTo("/icecream/flavors"))
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json")
+                        .withBody("[\"STRAWBERRY\"]")));
+
+        try (ReactorNettyFeignHttpClient httpClient = ReactorNettyFeignHttpClient.builder()
+                .workerCount(1)
+                .connectionPool("http://localhost:9999", ConnectionPoolSettings.builder().maxConnections(1).build())
+                .build()) {
+            for (String url : Arrays.asList("http://localhost:8089", "http://127.0.0.1:8089")) {
+                IceCreamService client = AsyncFeign.builder().asyncHttpClient(httpClient)
+                        .decoder(new JacksonDecoder(TestUtils.MAPPER)).target(IceCreamService.class, url);
+                assertThat(client.getAvailableFlavors().get()).containsExactly(Flavor.STRAWBERRY);
+            }
+
+            Map<String, ConnectionPoolMetrics> poolMetrics = httpClient.getPoolMetrics();
+            assertThat(poolMetrics).containsOnlyKeys(ReactorNettyFeignHttpClient.DEFAULT_POOL, "http://localhost:9999");
+            assertThat(Arrays.stream(poolMetrics.get(ReactorNettyFeignHttpClient.DEFAULT_POOL)
+                    .getAcquireLatencyHistogram()).sum()).isEqualTo(2L);
+            assertThat(poolMetrics.get("http://localhost:9999").getOpened()).isZero();
+        }
+    }
+
+    @Test
+    public void testAcquireLatencyBucket_log2Micros() {
+        assertThat(ConnectionPoolMetrics.bucket(0)).isEqualTo(0);
+        assertThat(ConnectionPoolMetrics.bucket(1)).isEqualTo(1);
+        assertThat(ConnectionPoolMetrics.bucket(1000)).isEqualTo(10);
+        assertThat(ConnectionPoolMetrics.bucket(Long.MAX_VALUE)).isEqualTo(ConnectionPoolMetrics.ACQUIRE_LATENCY_BUCKETS - 1);
+        assertThat(ConnectionPoolMetrics.getAcquireLatencyUpperBoundMicros(10)).isGreaterThanOrEqualTo(1000);
+    }
+
+    @Test
+    public void testHeaderName_cached() {
+        CharSequence headerName = ReactorNettyFeignHttpClient.headerName("X-Request-Id");
+
+        assertThat(headerName).isInstanceOf(io.netty.util.AsciiString.class);
+        assertThat(ReactorNettyFeignHttpClient.headerName("X-Request-Id")).isSameAs(headerName);
+    }
+
+    @Test
+    public void testStreamedResponseBody_success() throws Exception {
+        byte[] content = new byte[4 * 1024 * 1024];
+        new Random(1).nextBytes(content);
+        stubFor(get(urlEqualTo("/icecream/flavors"))
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/octet-stream")
+                        .withBody(content)));
+
+        try (ReactorNettyFeignHttpClient httpClient = ReactorNettyFeignHttpClient.builder().workerCount(1).build()) {
+            ProductService client = AsyncFeign.builder().asyncHttpClient(httpClient)
+                    .target(ProductService.class, "http://localhost:8089");
+
+            for (int i = 0; i < 2; i++) {
+                try (Response response = client.getAvailableFlavors().get()) {
+                    assertThat(response.status()).isEqualTo(200);
+                    assertThat(Util.toByteArray(response.body().asInputStream())).isEqualTo(content);
+                }
+            }
+            // body closed before its end
+            try (Response response = client.getAvailableFlavors().get()) {
+                assertThat(response.body().asInputStream().read()).isEqualTo(content[0] & 0xff);
+            }
+
+            assertThat(httpClient.getPoolMetrics().get(ReactorNettyFeignHttpClient.DEFAULT_POOL).getActive()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void testStreamedResponseBody_readPastPrefetch() throws Exception {
+        byte[] content = new byte[512 * 1024];
+        new Random(2).nextBytes(content);
+        stubFor(get(urlEqualTo("/icecream/flavors"))
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/octet-stream")
+                        .withBody(content).withChunkedDribbleDelay(16, 500)));
+
+        try (ReactorNettyFeignHttpClient httpClient = ReactorNettyFeignHttpClient.builder().workerCount(1).build()) {
+            ProductService client = AsyncFeign.builder().asyncHttpClient(httpClient)
+                    .target(ProductService.class, "http://localhost:8089");
+
+            try (Response response = client.getAvailableFlavors().get()) {
+                InputStream body = response.body().asInputStream();
+                ByteArrayOutputStream read = new ByteArrayOutputStream();
+                byte[] buffer = new byte[1024];
+                int reads = 0;
+                int n;
+                while ((n = body.read(buffer)) != -1) {
+                    read.write(buffer, 0, n);
+                    reads++;
+                }
+
+                assertThat(reads).isGreaterThan(16);
+                assertThat(read.toByteArray()).isEqualTo(content);
+            }
+            assertThat(httpClient.getPoolMetrics().get(ReactorNettyFeignHttpClient.DEFAULT_POOL).getActive()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void testUnixDomainSocketUri_relative() {
+        assertThat(ReactorNettyFeignHttpClient.toRelativeUri("unix://%2Fvar%2Frun%2Fsidecar.sock/icecream/orders?id=1"))
+                .isEqualTo("/icecream/orders?id=1");
+        assertThat(ReactorNettyFeignHttpClient.toRelativeUri("unix://%2Fvar%2Frun%2Fsidecar.sock")).isEqualTo("/");
+    }
+
+    @Test
+    public void testUnixDomainSocket_requestSentOverSocket() throws Exception {
+        Assume.assumeTrue(Epoll.isAvailable());
+        File socket = File.createTempFile("openfeign-reactive", ".sock");
+        socket.delete();
+        AtomicReference<String> received = new AtomicReference<>();
+        EventLoopGroup serverGroup = new EpollEventLoopGroup(1);
+        Channel server = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(EpollServerDomainSocketChannel.class)
+                .childHandler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel channel) {
+                        channel.pipeline().addLast(new HttpServerCodec(), new HttpObjectAggregator(1024),
+                                new SimpleChannelInboundHandler<FullHttpRequest>() {
+                                    @Override
+                                    protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+                                        received.set(request.method() + " " + request.uri() + " "
+                                                + request.headers().get(HttpHeaderNames.HOST));
+                                        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
+                                                HttpResponseStatus.OK,
+                                                Unpooled.copiedBuffer("[\"STRAWBERRY\"]", StandardCharsets.UTF_8));
+                                        response.headers().set(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                                                .setInt(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+                                        ctx.writeAndFlush(response);
+                                    }
+                                });
+                    }
+                })
+                .bind(new DomainSocketAddress(socket))
+                .sync()
+                .channel();
+
+        try (ReactorNettyFeignHttpClient httpClient = ReactorNettyFeignHttpClient.builder().workerCount(1).build()) {
+            IceCreamService client = AsyncFeign.builder().asyncHttpClient(httpClient)
+                    .decoder(new JacksonDecoder(TestUtils.MAPPER))
+                    .target(IceCreamService.class, "unix://" + socket.getAbsolutePath());
+
+            assertThat(client.getAvailableFlavors().get()).containsExactly(Flavor.STRAWBERRY);
+            assertThat(received.get()).isEqualTo("GET /icecream/flavors localhost");
+        } finally {
+            server.close().sync();
+            serverGroup.shutdownGracefully();
+            socket.delete();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import org.junit.Test;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseHeadersTest {
+
+    @Test
+    public void testCopyOf_repeatedHeadersKept() {
+        Map<String, Collection<String>> headers = ResponseHeaders.copyOf(Arrays.asList(
+                new SimpleImmutableEntry<>("Set-Cookie", "a=1"),
+                new SimpleImmutableEntry<>("Content-Type", "application/json"),
+                new SimpleImmutableEntry<>("Set-Cookie", "b=2")));
+
+        assertThat(headers).containsOnlyKeys("Set-Cookie", "Content-Type");
+        assertThat(headers.get("Set-Cookie")).containsExactly("a=1", "b=2");
+    }
+
+    @Test
+    public void testCopyOf_mergedCaseInsensitiveByResponse() {
+        Map<String, Collection<String>> headers = ResponseHeaders.copyOf(Arrays.asList(
+                new SimpleImmutableEntry<>("X-Id", "1"),
+                new SimpleImmutableEntry<>("x-id", "2")));
+
+        Response response = Response.builder()
+                .request(Request.create(Request.HttpMethod.GET, "http://localhost", Collections.emptyMap(), null, Util.UTF_8))
+                .status(200)
+                .headers(headers)
+                .body(new byte[0])
+                .build();
+
+        assertThat(response.headers().get("X-ID")).containsExactly("1", "2");
+    }
+
+    @Test
+    public void testOf_notCopied() {
+        Map<String, List<String>> nativeHeaders = new LinkedHashMap<>();
+        nativeHeaders.put("Set-Cookie", Arrays.asList("a=1", "b=2"));
+        Map<String, Collection<String>> headers = ResponseHeaders.of(nativeHeaders);
+
+        assertThat(headers.get("Set-Cookie")).isSameAs(nativeHeaders.get("Set-Cookie"));
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class SpringWebClientFeignHttpClientTest {
+
+    private final SpringWebClientFeignHttpClient httpClient = new SpringWebClientFeignHttpClient();
+
+    @Test
+    public void testUnsupportedMethod_failedFuture() throws Exception {
+        AtomicBoolean started = new AtomicBoolean();
+        CompletableFuture<Response> response = httpClient.execute(Request.create(Request.HttpMethod.CONNECT,
+                "http://localhost:8089/icecream", Collections.emptyMap(), null, Util.UTF_8), new Request.Options(),
+                new HttpExchangeListener() {
+                    @Override
+                    public void onStart() {
+                        started.set(true);
+                    }
+                });
+
+        assertThat(failure(response)).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("CONNECT");
+        assertThat(started.get()).isFalse();
+    }
+
+    @Test
+    public void testInvalidUrl_failedFuture() throws Exception {
+        CompletableFuture<Response> response = httpClient.execute(Request.create(Request.HttpMethod.GET,
+                "http://localhost:8089/ice cream", Collections.emptyMap(), null, Util.UTF_8), new Request.Options());
+
+        assertThat(failure(response)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Throwable failure(final CompletableFuture<Response> response) throws InterruptedException {
+        try {
+            response.get();
+        } catch (ExecutionException ex) {
+            return ex.getCause();
+        }
+        fail("Request must fail");
+        return null;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TraceContextTest {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @Test
+    public void testParseAndFormat_success() {
+        TraceContext context = TraceContext.parse(TRACEPARENT, " congo=t61rcWkgMzE ");
+
+        assertThat(context).isNotNull();
+        assertThat(context.isSampled()).isTrue();
+        assertThat(context.getTraceIdHex()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(context.getSpanIdHex()).isEqualTo("00f067aa0ba902b7");
+        assertThat(context.getTraceState()).isEqualTo("congo=t61rcWkgMzE");
+        assertThat(context.toTraceparent()).isEqualTo(TRACEPARENT);
+    }
+
+    @Test
+    public void testParseMalformed_fail() {
+        assertThat(TraceContext.parse(null, null)).isNull();
+        assertThat(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7", null)).isNull();
+        assertThat(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01", null)).isNull();
+        assertThat(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01", null)).isNull();
+        assertThat(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01", null)).isNull();
+        assertThat(TraceContext.parse("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01", null)).isNull();
+        assertThat(TraceContext.parse(TRACEPARENT + "-extra", null)).isNull();
+        assertThat(TraceContext.parse("01" + TRACEPARENT.substring(2) + "-extra", null)).isNotNull();
+    }
+
+    @Test
+    public void testMakeCurrent_success() {
+        TraceContext parent = TraceContext.parse(TRACEPARENT, null);
+        TraceContext child = parent.child(42L, false);
+
+        assertThat(TraceContext.current()).isNull();
+        try (FeignSpan.Scope ignored = parent.makeCurrent()) {
+            try (FeignSpan.Scope ignoredChild = child.makeCurrent()) {
+                assertThat(TraceContext.current()).isSameAs(child);
+                assertThat(child.getTraceIdHex()).isEqualTo(parent.getTraceIdHex());
+                assertThat(child.isSampled()).isFalse();
+            }
+            assertThat(TraceContext.current()).isSameAs(parent);
+        }
+        assertThat(TraceContext.current()).isNull();
+    }
+}
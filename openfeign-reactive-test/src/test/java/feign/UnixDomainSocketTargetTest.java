@@ -0,0 +1,74 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign;
+
+import feign.api.IceCreamService;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UnixDomainSocketTargetTest {
+
+    @Test
+    public void testSocketPath_encodedInAuthority() {
+        UnixDomainSocketTarget<IceCreamService> target =
+                new UnixDomainSocketTarget<>(IceCreamService.class, "unix:///var/run/sidecar.sock");
+
+        Request request = target.apply(resolvedTemplate());
+
+        assertThat(target.url()).isEqualTo("unix://%2Fvar%2Frun%2Fsidecar.sock");
+        assertThat(request.url()).isEqualTo("unix://%2Fvar%2Frun%2Fsidecar.sock/icecream/orders/1?expand=true");
+        assertThat(request.httpMethod()).isEqualTo(Request.HttpMethod.GET);
+        assertThat(request.headers()).containsEntry("Accept", Collections.singletonList("application/json"));
+    }
+
+    @Test
+    public void testEncodedUrlWithBasePath_kept() {
+        UnixDomainSocketTarget<IceCreamService> target =
+                new UnixDomainSocketTarget<>(IceCreamService.class, "unix://%2Fvar%2Frun%2Fsidecar.sock/api");
+
+        assertThat(target.apply(resolvedTemplate()).url())
+                .isEqualTo("unix://%2Fvar%2Frun%2Fsidecar.sock/api/icecream/orders/1?expand=true");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHttpUrl_rejected() {
+        new UnixDomainSocketTarget<>(IceCreamService.class, "http://localhost:8089");
+    }
+
+    @Test
+    public void testBuilderTarget_unixUrl() {
+        IceCreamService client = AsyncFeign.builder().asyncHttpClient((request, options) -> null)
+                .target(IceCreamService.class, "unix:///var/run/sidecar.sock");
+
+        assertThat(client.toString()).contains("unix://%2Fvar%2Frun%2Fsidecar.sock");
+    }
+
+    private static RequestTemplate resolvedTemplate() {
+        return new RequestTemplate().method(Request.HttpMethod.GET)
+                .uri("/icecream/orders/1")
+                .query("expand", "true")
+                .header("Accept", "application/json")
+                .resolve(Collections.emptyMap());
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *   The MIT License (MIT)
+ *
+ *   Copyright (c) 2019 Léo Montana and Contributors
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *   documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ *   rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ *   persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ *   BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *   DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *   FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package feign.api;
+
+import feign.AsyncFeignClient;
+import feign.Fallback;
+import feign.Headers;
+import feign.RequestLine;
+import feign.api.domain.Bill;
+import feign.api.domain.Flavor;
+import feign.api.domain.IceCreamOrder;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copy of {@link IceCreamServiceFallbacks} implemented by a generated client.
+ */
+@AsyncFeignClient
+@Headers({"Accept: application/json"})
+public interface GeneratedIceCreamServiceFallbacks {
+
+    AtomicInteger fallbackCount = new AtomicInteger(0);
+
+    @RequestLine("GET /icecream/flavors")
+    @Fallback("getAvailableFlavorsFallback")
+    CompletableFuture<Collection<Flavor>> getAvailableFlavors();
+
+    @RequestLine("POST /icecream/orders")
+    @Headers("Content-Type: application/json")
+    @Fallback("makeOrderFallback")
+    CompletableFuture<Bill> makeOrder(IceCreamOrder order);
+
+    @RequestLine("POST /icecream/orders")
+    @Headers("Content-Type: application/json")
+    @Fallback("makeOrderFallback")
+    CompletableFuture<Bill> makeOrder2(IceCreamOrder order);
+
+    default CompletableFuture<Collection<Flavor>> getAvailableFlavorsFallback(Throwable exception) {
+        countFallback();
+        return CompletableFuture.completedFuture(Collections.emptyList());
+    }
+
+    default CompletableFuture<Bill> makeOrderFallback(IceCreamOrder order, Throwable exception) {
+        countFallback();
+        return CompletableFuture.completedFuture(new Bill(0.2F));
+    }
+
+    default void countFallback() {
+        fallbackCount.incrementAndGet();
+    }
+}
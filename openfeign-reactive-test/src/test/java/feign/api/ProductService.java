@@ -20,11 +20,13 @@
 
 package feign.api;
 
+import feign.FileBody;
 import feign.Headers;
 import feign.RequestLine;
 import feign.Response;
 import feign.api.domain.Bill;
 
+import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
 
 @Headers({"Accept: application/json"})
@@ -36,4 +38,12 @@ public interface ProductService {
     @RequestLine("POST /icecream/bills/pay")
     @Headers("Content-Type: application/json")
     CompletableFuture<Response> payBill(Bill bill);
+
+    @RequestLine("POST /icecream/menu")
+    @Headers("Content-Type: text/plain")
+    CompletableFuture<Void> uploadMenu(Path menu);
+
+    @RequestLine("POST /icecream/menu")
+    @Headers("Content-Type: text/plain")
+    CompletableFuture<Void> uploadMenuPart(FileBody menuPart);
 }